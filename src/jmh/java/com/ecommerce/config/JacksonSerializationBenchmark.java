@@ -0,0 +1,53 @@
+package com.ecommerce.config;
+
+import com.ecommerce.dto.product.ProductResponseDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialização de uma página de produtos com o ObjectMapper configurado em JacksonConfig.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JacksonSerializationBenchmark {
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private Page<ProductResponseDTO> page;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new JacksonConfig().objectMapper();
+
+        LocalDateTime now = LocalDateTime.now();
+        List<ProductResponseDTO> content = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            content.add(new ProductResponseDTO(UUID.randomUUID(), "Produto " + i,
+                    "Descrição do produto " + i + " com alguns detalhes adicionais",
+                    new BigDecimal("99.90").add(BigDecimal.valueOf(i)), "Eletrônicos", 50, now, now));
+        }
+        page = new PageImpl<>(content, PageRequest.of(0, pageSize), pageSize * 10L);
+    }
+
+    @Benchmark
+    public byte[] serializeProductPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,72 @@
+package com.ecommerce.security;
+
+import com.ecommerce.config.JwtConfig;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo por requisição da autenticação JWT: abordagem anterior (chave e parser
+ * recriados, token parseado duas vezes) contra o parser pré-construído.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtTokenProviderBenchmark {
+
+    private JwtConfig jwtConfig;
+    private JwtTokenProvider tokenProvider;
+    private UsernamePasswordAuthenticationToken authentication;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtConfig = new JwtConfig();
+        tokenProvider = new JwtTokenProvider(jwtConfig);
+
+        UserDetails user = User.withUsername("bench@example.com")
+                .password("ignored")
+                .authorities(List.of())
+                .build();
+        authentication = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+        token = tokenProvider.generateToken(authentication);
+    }
+
+    @Benchmark
+    public String legacyValidateThenExtract() {
+        // Reproduz o fluxo antigo do filtro: validateToken + getUsernameFromToken
+        Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(jwtConfig.getSecret().getBytes()))
+                .build()
+                .parseClaimsJws(token);
+
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(jwtConfig.getSecret().getBytes()))
+                .build()
+                .parseClaimsJws(token)
+                .getBody()
+                .getSubject();
+    }
+
+    @Benchmark
+    public String parseClaimsOnce() {
+        return tokenProvider.parseClaims(token)
+                .map(Claims::getSubject)
+                .orElseThrow();
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return tokenProvider.generateToken(authentication);
+    }
+}
@@ -0,0 +1,90 @@
+package com.ecommerce.service;
+
+import com.ecommerce.dto.order.OrderItemView;
+import com.ecommerce.dto.order.OrderResponseDTO;
+import com.ecommerce.dto.order.OrderSummaryView;
+import com.ecommerce.dto.product.ProductResponseDTO;
+import com.ecommerce.entity.Order;
+import com.ecommerce.entity.OrderItem;
+import com.ecommerce.entity.Product;
+import com.ecommerce.enums.OrderStatus;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversão entidade/projeção -> DTO feita em toda resposta de produtos e pedidos.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResponseMappingBenchmark {
+
+    @Param({"1", "10", "50"})
+    private int itemsPerOrder;
+
+    private ProductService productService;
+    private OrderService orderService;
+
+    private Product product;
+    private Order order;
+    private OrderSummaryView summary;
+    private List<OrderItemView> itemViews;
+
+    @Setup
+    public void setUp() {
+        productService = new ProductService();
+        orderService = new OrderService();
+
+        LocalDateTime now = LocalDateTime.now();
+        product = new Product(UUID.randomUUID(), "Notebook Dell Inspiron", "Notebook com 16GB de RAM e SSD de 512GB",
+                new BigDecimal("4599.90"), "Eletrônicos", 25, now, now);
+
+        order = new Order();
+        order.setId(UUID.randomUUID());
+        order.setStatus(OrderStatus.PAID);
+        order.setCreatedAt(now);
+        order.setUpdatedAt(now);
+
+        List<OrderItem> items = new ArrayList<>();
+        itemViews = new ArrayList<>();
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < itemsPerOrder; i++) {
+            BigDecimal unitPrice = new BigDecimal("19.90").add(BigDecimal.valueOf(i));
+            BigDecimal totalPrice = unitPrice.multiply(BigDecimal.valueOf(2));
+            Product itemProduct = new Product(UUID.randomUUID(), "Produto " + i, null, unitPrice, "Livros", 10, now, now);
+            OrderItem item = new OrderItem(UUID.randomUUID(), order, itemProduct, 2, unitPrice, totalPrice);
+            items.add(item);
+            itemViews.add(new OrderItemView(order.getId(), item.getId(), itemProduct.getId(), itemProduct.getName(),
+                    2, unitPrice, totalPrice));
+            total = total.add(totalPrice);
+        }
+        order.setItems(items);
+        order.setTotalAmount(total);
+
+        summary = new OrderSummaryView(order.getId(), order.getStatus(), total, now, now);
+    }
+
+    @Benchmark
+    public ProductResponseDTO productToResponse() {
+        return productService.mapToResponseDTO(product);
+    }
+
+    @Benchmark
+    public OrderResponseDTO orderEntityToResponse() {
+        return orderService.mapToResponseDTO(order);
+    }
+
+    @Benchmark
+    public OrderResponseDTO orderSummaryToResponse() {
+        return orderService.mapToResponseDTO(summary, itemViews);
+    }
+}
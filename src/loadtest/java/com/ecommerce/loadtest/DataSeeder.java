@@ -0,0 +1,150 @@
+package com.ecommerce.loadtest;
+
+import com.ecommerce.entity.Order;
+import com.ecommerce.entity.OrderItem;
+import com.ecommerce.entity.Product;
+import com.ecommerce.entity.User;
+import com.ecommerce.enums.OrderStatus;
+import com.ecommerce.enums.UserRole;
+import com.ecommerce.repository.OrderRepository;
+import com.ecommerce.repository.ProductRepository;
+import com.ecommerce.repository.ReportAggregateRepository;
+import com.ecommerce.repository.UserRepository;
+import com.ecommerce.search.ProductSearchEngine;
+import org.springframework.context.ApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Gera usuários, produtos e pedidos sintéticos de forma determinística (mesma semente,
+ * mesmos dados) e grava em lotes, cada lote em sua própria transação.
+ */
+public class DataSeeder {
+    
+    public static final String PASSWORD = "loadtest123";
+    public static final String ADMIN_EMAIL = "loadtest-admin@example.com";
+    
+    private static final int CHUNK_SIZE = 500;
+    private static final String[] CATEGORIES = {
+        "Eletrônicos", "Livros", "Casa", "Esportes", "Moda", "Brinquedos", "Beleza", "Informática"
+    };
+    private static final String[] WORDS = {
+        "notebook", "camiseta", "livro", "mouse", "teclado", "cadeira", "bola", "perfume",
+        "monitor", "tênis", "mochila", "luminária", "fone", "relógio", "garrafa", "panela"
+    };
+    
+    private final UserRepository userRepository;
+    private final ProductRepository productRepository;
+    private final OrderRepository orderRepository;
+    private final ReportAggregateRepository reportAggregateRepository;
+    private final ProductSearchEngine searchEngine;
+    private final PasswordEncoder passwordEncoder;
+    private final TransactionTemplate transactionTemplate;
+    
+    public DataSeeder(ApplicationContext context) {
+        this.userRepository = context.getBean(UserRepository.class);
+        this.productRepository = context.getBean(ProductRepository.class);
+        this.orderRepository = context.getBean(OrderRepository.class);
+        this.reportAggregateRepository = context.getBean(ReportAggregateRepository.class);
+        this.searchEngine = context.getBean(ProductSearchEngine.class);
+        this.passwordEncoder = context.getBean(PasswordEncoder.class);
+        this.transactionTemplate = context.getBean(TransactionTemplate.class);
+    }
+    
+    public SeedResult seed(LoadTestConfig config) {
+        Random random = new Random(config.getRandomSeed());
+        // BCrypt é caro: todos os usuários sintéticos compartilham o mesmo hash
+        String encodedPassword = passwordEncoder.encode(PASSWORD);
+        
+        List<User> users = new ArrayList<>(config.getSeedUsers());
+        for (int i = 0; i < config.getSeedUsers(); i++) {
+            User user = new User();
+            user.setEmail("loadtest-user-" + i + "@example.com");
+            user.setPassword(encodedPassword);
+            user.setName("Usuário Carga " + i);
+            user.setRole(UserRole.USER);
+            users.add(user);
+        }
+        User admin = new User();
+        admin.setEmail(ADMIN_EMAIL);
+        admin.setPassword(encodedPassword);
+        admin.setName("Administrador Carga");
+        admin.setRole(UserRole.ADMIN);
+        users.add(admin);
+        users = saveInChunks(users, userRepository::saveAll);
+        
+        List<Product> products = new ArrayList<>(config.getSeedProducts());
+        for (int i = 0; i < config.getSeedProducts(); i++) {
+            Product product = new Product();
+            product.setName(capitalize(WORDS[random.nextInt(WORDS.length)]) + " " + WORDS[random.nextInt(WORDS.length)] + " " + i);
+            product.setDescription("Produto sintético " + i + " para teste de carga");
+            product.setPrice(BigDecimal.valueOf(500 + random.nextInt(200_000), 2));
+            product.setCategory(CATEGORIES[random.nextInt(CATEGORIES.length)]);
+            // Estoque alto para que os pagamentos durante o teste não falhem por falta de estoque
+            product.setStockQuantity(1_000_000);
+            products.add(product);
+        }
+        products = saveInChunks(products, productRepository::saveAll);
+        
+        List<User> customers = users.subList(0, config.getSeedUsers());
+        List<Order> orders = new ArrayList<>(config.getSeedOrders());
+        for (int i = 0; i < config.getSeedOrders(); i++) {
+            Order order = new Order();
+            order.setUser(customers.get(random.nextInt(customers.size())));
+            order.setStatus(random.nextInt(10) < 7 ? OrderStatus.PAID : OrderStatus.PENDING);
+            
+            List<OrderItem> items = new ArrayList<>();
+            BigDecimal total = BigDecimal.ZERO;
+            int itemCount = 1 + random.nextInt(4);
+            for (int j = 0; j < itemCount; j++) {
+                Product product = products.get(random.nextInt(products.size()));
+                int quantity = 1 + random.nextInt(3);
+                OrderItem item = new OrderItem();
+                item.setOrder(order);
+                item.setProduct(product);
+                item.setProductName(product.getName());
+                item.setQuantity(quantity);
+                item.setUnitPrice(product.getPrice());
+                item.setTotalPrice(product.getPrice().multiply(BigDecimal.valueOf(quantity)).setScale(2, RoundingMode.HALF_UP));
+                items.add(item);
+                total = total.add(item.getTotalPrice());
+            }
+            order.setItems(items);
+            order.setTotalAmount(total);
+            orders.add(order);
+        }
+        saveInChunks(orders, orderRepository::saveAll);
+        // Pedidos PAID gravados direto no repositório não passam pelo payOrder
+        reportAggregateRepository.rebuild();
+        
+        searchEngine.rebuild();
+        
+        List<String> customerEmails = customers.stream().map(User::getEmail).toList();
+        List<UUID> productIds = products.stream().map(Product::getId).toList();
+        return new SeedResult(customerEmails, productIds);
+    }
+    
+    private <T> List<T> saveInChunks(List<T> entities, Function<List<T>, List<T>> saver) {
+        List<T> saved = new ArrayList<>(entities.size());
+        for (int from = 0; from < entities.size(); from += CHUNK_SIZE) {
+            List<T> chunk = entities.subList(from, Math.min(from + CHUNK_SIZE, entities.size()));
+            saved.addAll(transactionTemplate.execute(status -> saver.apply(chunk)));
+        }
+        return saved;
+    }
+    
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+    
+    public record SeedResult(List<String> customerEmails, List<UUID> productIds) {
+    }
+}
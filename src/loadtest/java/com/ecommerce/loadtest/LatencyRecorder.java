@@ -0,0 +1,67 @@
+package com.ecommerce.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Amostras de latência por endpoint. Cada usuário virtual tem o seu próprio recorder
+ * (sem sincronização); ao final eles são combinados com {@link #merge(LatencyRecorder)}.
+ */
+public class LatencyRecorder {
+    
+    private final Map<String, Samples> samplesByEndpoint = new LinkedHashMap<>();
+    
+    public void record(String endpoint, long latencyNanos, boolean success) {
+        samplesByEndpoint.computeIfAbsent(endpoint, key -> new Samples()).add(latencyNanos, success);
+    }
+    
+    public void merge(LatencyRecorder other) {
+        other.samplesByEndpoint.forEach((endpoint, samples) ->
+            samplesByEndpoint.computeIfAbsent(endpoint, key -> new Samples()).addAll(samples));
+    }
+    
+    public Map<String, Samples> getSamplesByEndpoint() {
+        return samplesByEndpoint;
+    }
+    
+    public static class Samples {
+        
+        private long[] latencies = new long[1024];
+        private int count;
+        private long errors;
+        
+        void add(long latencyNanos, boolean success) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+            if (!success) {
+                errors++;
+            }
+        }
+        
+        void addAll(Samples other) {
+            if (count + other.count > latencies.length) {
+                latencies = Arrays.copyOf(latencies, Math.max(latencies.length * 2, count + other.count));
+            }
+            System.arraycopy(other.latencies, 0, latencies, count, other.count);
+            count += other.count;
+            errors += other.errors;
+        }
+        
+        public int getCount() {
+            return count;
+        }
+        
+        public long getErrors() {
+            return errors;
+        }
+        
+        public long[] sortedLatencies() {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return sorted;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.ecommerce.loadtest;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Janela de tempo do teste: aquecimento (não medido) seguido da fase de medição.
+ */
+public class LoadTestClock {
+    
+    private final long measureStartNanos;
+    private final long endNanos;
+    
+    public LoadTestClock(long startNanos, int warmupSeconds, int durationSeconds) {
+        this.measureStartNanos = startNanos + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        this.endNanos = measureStartNanos + TimeUnit.SECONDS.toNanos(durationSeconds);
+    }
+    
+    public boolean isMeasuring(long requestStartNanos) {
+        return requestStartNanos >= measureStartNanos && requestStartNanos < endNanos;
+    }
+    
+    public boolean isFinished() {
+        return System.nanoTime() >= endNanos;
+    }
+}
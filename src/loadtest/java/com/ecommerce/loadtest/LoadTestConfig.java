@@ -0,0 +1,159 @@
+package com.ecommerce.loadtest;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Parâmetros do teste de carga, lidos de argumentos no formato --chave=valor.
+ * Argumentos --spring.* e --server.* são repassados para a aplicação.
+ */
+public class LoadTestConfig {
+    
+    private int virtualUsers = 20;
+    private int warmupSeconds = 10;
+    private int durationSeconds = 60;
+    private int seedUsers = 200;
+    private int seedProducts = 1000;
+    private int seedOrders = 2000;
+    private long randomSeed = 42L;
+    // platform | virtual: modo de threads da aplicação (virtual exige Java 21+)
+    private String threads = "platform";
+    private String output = "target/loadtest/report.json";
+    private Map<Operation, Integer> mix = parseMix("login=2,products=40,createOrder=20,payOrder=15,orders=13,reports=10");
+    private final List<String> applicationArgs = new ArrayList<>();
+    
+    public static LoadTestConfig fromArgs(String[] args) {
+        LoadTestConfig config = new LoadTestConfig();
+        for (String arg : args) {
+            if (arg.startsWith("--spring.") || arg.startsWith("--server.")) {
+                config.applicationArgs.add(arg);
+                continue;
+            }
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Invalid argument: " + arg + " (expected --key=value)");
+            }
+            String key = arg.substring(2, separator);
+            String value = arg.substring(separator + 1);
+            switch (key) {
+                case "vus" -> config.virtualUsers = Integer.parseInt(value);
+                case "warmup" -> config.warmupSeconds = Integer.parseInt(value);
+                case "duration" -> config.durationSeconds = Integer.parseInt(value);
+                case "users" -> config.seedUsers = Integer.parseInt(value);
+                case "products" -> config.seedProducts = Integer.parseInt(value);
+                case "orders" -> config.seedOrders = Integer.parseInt(value);
+                case "seed" -> config.randomSeed = Long.parseLong(value);
+                case "threads" -> config.threads = parseThreads(value);
+                case "output" -> config.output = value;
+                case "mix" -> config.mix = parseMix(value);
+                default -> throw new IllegalArgumentException("Unknown argument: --" + key);
+            }
+        }
+        if (config.seedUsers < config.virtualUsers) {
+            throw new IllegalArgumentException("--users must be >= --vus (each virtual user logs in as a seeded user)");
+        }
+        if ("virtual".equals(config.threads)) {
+            config.applicationArgs.add("--spring.threads.virtual.enabled=true");
+        }
+        return config;
+    }
+    
+    static String parseThreads(String value) {
+        if (!"platform".equals(value) && !"virtual".equals(value)) {
+            throw new IllegalArgumentException("Invalid threads mode: " + value + " (expected platform or virtual)");
+        }
+        return value;
+    }
+    
+    static Map<Operation, Integer> parseMix(String value) {
+        Map<Operation, Integer> mix = new LinkedHashMap<>();
+        for (String entry : value.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid mix entry: " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                mix.put(Operation.fromKey(parts[0].trim()), weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("Mix must have at least one operation with positive weight");
+        }
+        return mix;
+    }
+    
+    public int getVirtualUsers() {
+        return virtualUsers;
+    }
+    
+    public int getWarmupSeconds() {
+        return warmupSeconds;
+    }
+    
+    public int getDurationSeconds() {
+        return durationSeconds;
+    }
+    
+    public int getSeedUsers() {
+        return seedUsers;
+    }
+    
+    public int getSeedProducts() {
+        return seedProducts;
+    }
+    
+    public int getSeedOrders() {
+        return seedOrders;
+    }
+    
+    public long getRandomSeed() {
+        return randomSeed;
+    }
+    
+    public String getThreads() {
+        return threads;
+    }
+    
+    public String getOutput() {
+        return output;
+    }
+    
+    public Map<Operation, Integer> getMix() {
+        return mix;
+    }
+    
+    public List<String> getApplicationArgs() {
+        return applicationArgs;
+    }
+    
+    public enum Operation {
+        LOGIN("login"),
+        LIST_PRODUCTS("products"),
+        CREATE_ORDER("createOrder"),
+        PAY_ORDER("payOrder"),
+        LIST_ORDERS("orders"),
+        REPORTS("reports");
+        
+        private final String key;
+        
+        Operation(String key) {
+            this.key = key;
+        }
+        
+        public String getKey() {
+            return key;
+        }
+        
+        static Operation fromKey(String key) {
+            for (Operation operation : values()) {
+                if (operation.key.equals(key)) {
+                    return operation;
+                }
+            }
+            throw new IllegalArgumentException("Unknown operation in mix: " + key);
+        }
+    }
+}
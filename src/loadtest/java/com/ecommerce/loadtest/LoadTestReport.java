@@ -0,0 +1,107 @@
+package com.ecommerce.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Consolida as amostras em percentis e vazão por endpoint e grava o resultado em JSON.
+ */
+public class LoadTestReport {
+    
+    private final LoadTestConfig config;
+    private final List<EndpointStats> endpoints = new ArrayList<>();
+    
+    public LoadTestReport(LoadTestConfig config, LatencyRecorder recorder) {
+        this.config = config;
+        recorder.getSamplesByEndpoint().forEach((endpoint, samples) ->
+            endpoints.add(EndpointStats.of(endpoint, samples, config.getDurationSeconds())));
+    }
+    
+    public void write(ObjectMapper objectMapper) throws IOException {
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("generatedAt", Instant.now().toString());
+        
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("virtualUsers", config.getVirtualUsers());
+        settings.put("warmupSeconds", config.getWarmupSeconds());
+        settings.put("durationSeconds", config.getDurationSeconds());
+        settings.put("seedUsers", config.getSeedUsers());
+        settings.put("seedProducts", config.getSeedProducts());
+        settings.put("seedOrders", config.getSeedOrders());
+        settings.put("randomSeed", config.getRandomSeed());
+        settings.put("threads", config.getThreads());
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        config.getMix().forEach((operation, weight) -> mix.put(operation.getKey(), weight));
+        settings.put("mix", mix);
+        settings.put("applicationArgs", config.getApplicationArgs());
+        document.put("config", settings);
+        
+        long totalRequests = endpoints.stream().mapToLong(EndpointStats::count).sum();
+        document.put("totalRequests", totalRequests);
+        document.put("totalThroughputPerSecond", round((double) totalRequests / config.getDurationSeconds()));
+        document.put("endpoints", endpoints);
+        
+        Path output = Path.of(config.getOutput());
+        if (output.getParent() != null) {
+            Files.createDirectories(output.getParent());
+        }
+        objectMapper.copy()
+            .enable(SerializationFeature.INDENT_OUTPUT)
+            .writeValue(output.toFile(), document);
+    }
+    
+    public String toTable() {
+        StringBuilder table = new StringBuilder();
+        table.append(String.format("%-36s %9s %7s %10s %9s %9s %9s %9s%n",
+            "Endpoint", "Requests", "Errors", "Req/s", "p50 ms", "p95 ms", "p99 ms", "Max ms"));
+        for (EndpointStats stats : endpoints) {
+            table.append(String.format("%-36s %9d %7d %10.1f %9.2f %9.2f %9.2f %9.2f%n",
+                stats.endpoint(), stats.count(), stats.errors(), stats.throughputPerSecond(),
+                stats.p50Ms(), stats.p95Ms(), stats.p99Ms(), stats.maxMs()));
+        }
+        return table.toString();
+    }
+    
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+    
+    public record EndpointStats(String endpoint, long count, long errors, double throughputPerSecond,
+                                double meanMs, double p50Ms, double p95Ms, double p99Ms, double maxMs) {
+        
+        static EndpointStats of(String endpoint, LatencyRecorder.Samples samples, int durationSeconds) {
+            long[] sorted = samples.sortedLatencies();
+            double mean = 0;
+            for (long latency : sorted) {
+                mean += latency;
+            }
+            mean = sorted.length == 0 ? 0 : mean / sorted.length;
+            return new EndpointStats(endpoint, sorted.length, samples.getErrors(),
+                round((double) sorted.length / durationSeconds),
+                toMillis(mean), toMillis(percentile(sorted, 50)), toMillis(percentile(sorted, 95)),
+                toMillis(percentile(sorted, 99)), toMillis(sorted.length == 0 ? 0 : sorted[sorted.length - 1]));
+        }
+        
+        // Percentil pelo método nearest-rank
+        private static long percentile(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+            return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+        }
+        
+        private static double toMillis(double nanos) {
+            return round(nanos / 1_000_000.0);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.ecommerce.loadtest;
+
+import com.ecommerce.EcommerceSystemApplication;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Teste de carga ponta a ponta: sobe a aplicação com H2 em modo MySQL, semeia dados
+ * e dispara usuários virtuais via HTTP contra os fluxos de autenticação, catálogo,
+ * pedidos, pagamento e relatórios.
+ *
+ * <pre>
+ * mvn -Ploadtest -DskipTests verify -Dloadtest.args="--vus=50 --duration=120"
+ * </pre>
+ */
+public class LoadTestRunner {
+    
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromArgs(args);
+        
+        List<String> applicationArgs = new ArrayList<>(List.of(
+            "--spring.profiles.active=test",
+            "--spring.datasource.url=jdbc:h2:mem:loadtest;MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1",
+            "--server.port=0",
+            "--app.query-inspector.enabled=true",
+            // O perfil de teste falha a requisição que estoura o orçamento de queries e expõe as
+            // contagens em headers; sob carga isso viraria erro e tráfego extra, não medição
+            "--app.query-inspector.fail-on-exceed=false",
+            "--app.query-inspector.expose-headers=false",
+            "--spring.jpa.show-sql=false",
+            "--logging.level.root=WARN",
+            "--logging.level.com.ecommerce=WARN"
+        ));
+        applicationArgs.addAll(config.getApplicationArgs());
+        
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(EcommerceSystemApplication.class)
+                .run(applicationArgs.toArray(new String[0]))) {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            ObjectMapper objectMapper = context.getBean(ObjectMapper.class);
+            
+            System.out.printf("Seeding %d users, %d products, %d orders...%n",
+                config.getSeedUsers(), config.getSeedProducts(), config.getSeedOrders());
+            long seedStart = System.nanoTime();
+            DataSeeder.SeedResult seed = new DataSeeder(context).seed(config);
+            System.out.printf("Seeded in %d ms%n", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - seedStart));
+            
+            HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+            String adminToken = adminToken(httpClient, objectMapper, baseUrl);
+            
+            System.out.printf("Running %d virtual users: %ds warmup + %ds measured%n",
+                config.getVirtualUsers(), config.getWarmupSeconds(), config.getDurationSeconds());
+            LoadTestClock clock = new LoadTestClock(System.nanoTime(), config.getWarmupSeconds(), config.getDurationSeconds());
+            List<VirtualUser> virtualUsers = new ArrayList<>();
+            for (int i = 0; i < config.getVirtualUsers(); i++) {
+                virtualUsers.add(new VirtualUser(httpClient, objectMapper, baseUrl, seed.customerEmails().get(i), adminToken,
+                    seed.productIds(), config.getMix(), config.getRandomSeed() + i, clock));
+            }
+            
+            ExecutorService executor = Executors.newFixedThreadPool(config.getVirtualUsers());
+            virtualUsers.forEach(executor::submit);
+            executor.shutdown();
+            long timeout = config.getWarmupSeconds() + config.getDurationSeconds() + 60L;
+            if (!executor.awaitTermination(timeout, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+            
+            LatencyRecorder merged = new LatencyRecorder();
+            virtualUsers.forEach(virtualUser -> merged.merge(virtualUser.getRecorder()));
+            LoadTestReport report = new LoadTestReport(config, merged);
+            report.write(objectMapper);
+            
+            System.out.println();
+            System.out.print(report.toTable());
+            System.out.println("Report written to " + config.getOutput());
+        }
+    }
+    
+    private static String adminToken(HttpClient httpClient, ObjectMapper objectMapper, String baseUrl) throws Exception {
+        byte[] body = objectMapper.writeValueAsBytes(objectMapper.createObjectNode()
+            .put("email", DataSeeder.ADMIN_EMAIL)
+            .put("password", DataSeeder.PASSWORD));
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+            .build();
+        HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Admin login failed with status " + response.statusCode());
+        }
+        return objectMapper.readTree(response.body()).get("token").asText();
+    }
+}
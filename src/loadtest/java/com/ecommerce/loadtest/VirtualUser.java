@@ -0,0 +1,204 @@
+package com.ecommerce.loadtest;
+
+import com.ecommerce.loadtest.LoadTestConfig.Operation;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Usuário virtual: autentica como um usuário semeado e executa operações sorteadas
+ * conforme o mix configurado até o fim do teste. Relatórios usam o token do administrador.
+ */
+public class VirtualUser implements Runnable {
+    
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final String baseUrl;
+    private final String email;
+    private final String adminToken;
+    private final List<UUID> productIds;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    private final Random random;
+    private final LoadTestClock clock;
+    
+    private final LatencyRecorder recorder = new LatencyRecorder();
+    private final Deque<String> pendingOrders = new ArrayDeque<>();
+    private String token;
+    
+    public VirtualUser(HttpClient httpClient, ObjectMapper objectMapper, String baseUrl, String email, String adminToken,
+                       List<UUID> productIds, Map<Operation, Integer> mix, long randomSeed, LoadTestClock clock) {
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        this.baseUrl = baseUrl;
+        this.email = email;
+        this.adminToken = adminToken;
+        this.productIds = productIds;
+        this.random = new Random(randomSeed);
+        this.clock = clock;
+        
+        this.operations = mix.keySet().toArray(new Operation[0]);
+        this.cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += mix.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+    }
+    
+    @Override
+    public void run() {
+        try {
+            token = login();
+            while (!clock.isFinished()) {
+                execute(nextOperation());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    public LatencyRecorder getRecorder() {
+        return recorder;
+    }
+    
+    private Operation nextOperation() {
+        int value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+    
+    private void execute(Operation operation) throws InterruptedException {
+        switch (operation) {
+            case LOGIN -> {
+                String newToken = login();
+                if (newToken != null) {
+                    token = newToken;
+                }
+            }
+            case LIST_PRODUCTS -> send("GET /api/products", get("/api/products?page=" + random.nextInt(5) + "&size=20", token));
+            case CREATE_ORDER -> createOrder();
+            case PAY_ORDER -> {
+                if (pendingOrders.isEmpty()) {
+                    createOrder();
+                }
+                String orderId = pendingOrders.pollFirst();
+                if (orderId != null) {
+                    send("POST /api/orders/{id}/pay", post("/api/orders/" + orderId + "/pay", null, token));
+                }
+            }
+            case LIST_ORDERS -> send("GET /api/orders", get("/api/orders?page=0&size=10", token));
+            case REPORTS -> {
+                switch (random.nextInt(3)) {
+                    case 0 -> send("GET /api/reports/top-users", get("/api/reports/top-users", adminToken));
+                    case 1 -> send("GET /api/reports/average-tickets", get("/api/reports/average-tickets", adminToken));
+                    default -> {
+                        YearMonth month = YearMonth.now().minusMonths(random.nextInt(3));
+                        send("GET /api/reports/monthly-revenue",
+                            get("/api/reports/monthly-revenue?year=" + month.getYear() + "&month=" + month.getMonthValue(), adminToken));
+                    }
+                }
+            }
+        }
+    }
+    
+    private String login() throws InterruptedException {
+        ObjectNode body = objectMapper.createObjectNode()
+            .put("email", email)
+            .put("password", DataSeeder.PASSWORD);
+        JsonNode response = send("POST /api/auth/login", post("/api/auth/login", body, null));
+        return response != null ? response.path("token").asText(null) : null;
+    }
+    
+    private void createOrder() throws InterruptedException {
+        ObjectNode body = objectMapper.createObjectNode();
+        ArrayNode items = body.putArray("items");
+        int itemCount = 1 + random.nextInt(3);
+        for (int i = 0; i < itemCount; i++) {
+            items.addObject()
+                .put("productId", productIds.get(random.nextInt(productIds.size())).toString())
+                .put("quantity", 1 + random.nextInt(2));
+        }
+        JsonNode response = send("POST /api/orders", post("/api/orders", body, token));
+        if (response != null && response.hasNonNull("id")) {
+            pendingOrders.addLast(response.get("id").asText());
+        }
+    }
+    
+    private HttpRequest get(String path, String bearer) {
+        return request(path, bearer).GET().build();
+    }
+    
+    private HttpRequest post(String path, JsonNode body, String bearer) {
+        HttpRequest.BodyPublisher publisher;
+        try {
+            publisher = body == null
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return request(path, bearer)
+            .header("Content-Type", "application/json")
+            .POST(publisher)
+            .build();
+    }
+    
+    private HttpRequest.Builder request(String path, String bearer) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(REQUEST_TIMEOUT);
+        if (bearer != null) {
+            builder.header("Authorization", "Bearer " + bearer);
+        }
+        return builder;
+    }
+    
+    /**
+     * Executa a requisição e registra a latência quando o teste está na fase de medição.
+     * Retorna o corpo como JSON em caso de sucesso, ou null.
+     */
+    private JsonNode send(String endpoint, HttpRequest request) throws InterruptedException {
+        long start = System.nanoTime();
+        boolean success;
+        byte[] body = null;
+        try {
+            HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            success = response.statusCode() / 100 == 2;
+            body = response.body();
+        } catch (IOException e) {
+            success = false;
+        }
+        long elapsed = System.nanoTime() - start;
+        if (clock.isMeasuring(start)) {
+            recorder.record(endpoint, elapsed, success);
+        }
+        if (!success || body == null || body.length == 0) {
+            return null;
+        }
+        try {
+            return objectMapper.readTree(body);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.ecommerce.cache;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Adia a atualização de estado derivado (caches, índice de busca) para depois do
+ * commit, evitando que uma leitura concorrente republique dados ainda não confirmados.
+ * Fora de uma transação a ação roda imediatamente.
+ */
+public final class AfterCommit {
+    
+    private AfterCommit() {
+    }
+    
+    public static void run(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,37 @@
+package com.ecommerce.cache;
+
+import com.ecommerce.config.CacheConfig;
+import com.ecommerce.entity.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+/**
+ * Remove o usuário do cache de principals quando ele é alterado (role, senha, e-mail) ou
+ * removido, para que a próxima requisição autenticada recarregue do banco.
+ * Instanciado pelo Hibernate via SpringBeanContainer, por isso aceita @Autowired.
+ */
+public class PrincipalCacheEvictionListener {
+    
+    @Autowired
+    private CacheManager cacheManager;
+    
+    @PostUpdate
+    @PostRemove
+    public void evict(User user) {
+        String email = user.getEmail();
+        // Troca de e-mail: a entrada fica sob o e-mail anterior e precisa sair também
+        String previousEmail = user.getPersistedEmail();
+        AfterCommit.run(() -> {
+            Cache cache = cacheManager.getCache(CacheConfig.PRINCIPALS);
+            if (cache != null) {
+                cache.evict(email);
+                if (previousEmail != null && !previousEmail.equals(email)) {
+                    cache.evict(previousEmail);
+                }
+            }
+        });
+    }
+}
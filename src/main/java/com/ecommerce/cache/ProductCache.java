@@ -0,0 +1,136 @@
+package com.ecommerce.cache;
+
+import com.ecommerce.config.CacheConfig;
+import com.ecommerce.dto.product.ProductResponseDTO;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Invalidação precisa dos caches de catálogo. Todas as operações rodam depois do
+ * commit da transação corrente (ver AfterCommit).
+ */
+@Component
+public class ProductCache {
+    
+    private static final String KEY_SEPARATOR = "|";
+    
+    private final CacheManager cacheManager;
+    
+    // Categoria de cada produto que apareceu em uma página cacheada: o pagamento invalida só as páginas
+    // dessa categoria. Uma entrada por produto, então o tamanho é limitado pelo catálogo, não pelas
+    // combinações de page/size/sort pedidas pelos clientes.
+    private final ConcurrentMap<UUID, String> categoryByProduct = new ConcurrentHashMap<>();
+    
+    public ProductCache(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+    
+    /**
+     * Chave das páginas por categoria; o prefixo da categoria permite invalidar só as páginas dela.
+     */
+    public static String categoryPageKey(String category, int page, int size, String sort) {
+        return category + KEY_SEPARATOR + page + KEY_SEPARATOR + size + KEY_SEPARATOR + sort;
+    }
+    
+    /**
+     * Registra os produtos de uma página por categoria carregada do banco (antes de ela entrar no cache).
+     */
+    public void categoryPageLoaded(Page<ProductResponseDTO> page) {
+        page.forEach(product -> categoryByProduct.put(product.getId(), product.getCategory()));
+    }
+    
+    public void productCreated(String category) {
+        AfterCommit.run(() -> {
+            evictCategories();
+            evictCategoryPages(category);
+        });
+    }
+    
+    public void productUpdated(UUID productId, String previousCategory, String category) {
+        AfterCommit.run(() -> {
+            cache(CacheConfig.PRODUCTS).evict(productId);
+            evictCategoryPages(previousCategory);
+            if (!previousCategory.equals(category)) {
+                evictCategories();
+                evictCategoryPages(category);
+            }
+        });
+    }
+    
+    public void productDeleted(UUID productId) {
+        AfterCommit.run(() -> {
+            cache(CacheConfig.PRODUCTS).evict(productId);
+            evictCategories();
+            evictPagesContaining(Set.of(productId));
+        });
+    }
+    
+    /**
+     * Importação em massa: qualquer entrada pode ter mudado, então os caches de catálogo
+     * são esvaziados uma única vez em vez de invalidados produto a produto.
+     */
+    public void productsImported() {
+        AfterCommit.run(() -> {
+            cache(CacheConfig.PRODUCTS).clear();
+            evictCategories();
+            cache(CacheConfig.PRODUCTS_BY_CATEGORY).clear();
+            categoryByProduct.clear();
+        });
+    }
+    
+    /**
+     * Baixa de estoque de um pagamento: invalida os produtos em vez de aplicar a diferença, que
+     * seria descontada duas vezes de uma entrada recarregada do banco já com a baixa.
+     */
+    public void stockDecremented(Map<UUID, Integer> quantities) {
+        AfterCommit.run(() -> {
+            Cache products = cache(CacheConfig.PRODUCTS);
+            quantities.keySet().forEach(products::evict);
+            evictPagesContaining(quantities.keySet());
+        });
+    }
+    
+    private void evictCategories() {
+        cache(CacheConfig.PRODUCT_CATEGORIES).clear();
+    }
+    
+    private void evictCategoryPages(String category) {
+        String prefix = category + KEY_SEPARATOR;
+        nativeMap(CacheConfig.PRODUCTS_BY_CATEGORY).keySet()
+            .removeIf(key -> key.toString().startsWith(prefix));
+    }
+    
+    private void evictPagesContaining(Collection<UUID> productIds) {
+        Set<String> categories = new HashSet<>();
+        for (UUID productId : productIds) {
+            String category = categoryByProduct.remove(productId);
+            if (category != null) {
+                categories.add(category);
+            }
+        }
+        categories.forEach(this::evictCategoryPages);
+    }
+    
+    private Cache cache(String name) {
+        Cache cache = cacheManager.getCache(name);
+        if (cache == null) {
+            throw new IllegalStateException("Cache not configured: " + name);
+        }
+        return cache;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private ConcurrentMap<Object, Object> nativeMap(String name) {
+        return ((com.github.benmanes.caffeine.cache.Cache<Object, Object>) cache(name).getNativeCache()).asMap();
+    }
+}
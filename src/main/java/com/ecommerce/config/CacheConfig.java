@@ -0,0 +1,54 @@
+package com.ecommerce.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Configuration
+@EnableCaching
+@ConfigurationProperties(prefix = "app.cache")
+public class CacheConfig {
+    
+    public static final String PRODUCTS = "products";
+    public static final String PRODUCT_CATEGORIES = "productCategories";
+    public static final String PRODUCTS_BY_CATEGORY = "productsByCategory";
+    public static final String PRINCIPALS = "principals";
+    public static final String REPORT_RESULTS = "reportResults";
+    public static final String REPORT_JOBS = "reportJobs";
+    
+    // Especificação Caffeine por cache (tamanho máximo, expiração); recordStats alimenta as métricas
+    private Map<String, String> specs = new LinkedHashMap<>(Map.of(
+        PRODUCTS, "maximumSize=10000,expireAfterWrite=10m,recordStats",
+        PRODUCT_CATEGORIES, "maximumSize=1,expireAfterWrite=10m,recordStats",
+        PRODUCTS_BY_CATEGORY, "maximumSize=1000,expireAfterWrite=2m,recordStats",
+        PRINCIPALS, "maximumSize=10000,expireAfterWrite=60s,recordStats",
+        // Resultado por tipo + parâmetros (TTL do cache de dashboard) e jobs consultáveis por id
+        REPORT_RESULTS, "maximumSize=500,expireAfterWrite=5m,recordStats",
+        REPORT_JOBS, "maximumSize=10000,expireAfterWrite=30m"
+    ));
+    
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        // Apenas os caches declarados existem; nomes desconhecidos são erro de programação
+        cacheManager.setCacheNames(List.of());
+        specs.forEach((name, spec) -> cacheManager.registerCustomCache(name, Caffeine.from(spec).build()));
+        return cacheManager;
+    }
+    
+    public Map<String, String> getSpecs() {
+        return specs;
+    }
+    
+    public void setSpecs(Map<String, String> specs) {
+        this.specs.putAll(specs);
+    }
+}
@@ -1,6 +1,9 @@
 package com.ecommerce.config;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.env.Environment;
@@ -8,13 +11,21 @@ import org.springframework.core.env.Environment;
 @Configuration
 public class EnvironmentConfig {
     
+    private static final Logger log = LoggerFactory.getLogger(EnvironmentConfig.class);
+    
     @Bean
     public CommandLineRunner validateEnvironment(Environment env) {
         return args -> {
-            System.out.println("Sistema de E-commerce iniciando...");
-            System.out.println("Perfil ativo: " + (env.getActiveProfiles().length > 0 ? 
-                String.join(", ", env.getActiveProfiles()) : "default"));
-            System.out.println("Configuração carregada com sucesso!");
+            log.info("Sistema de E-commerce iniciando...");
+            log.info("Perfil ativo: {}", env.getActiveProfiles().length > 0 ? 
+                String.join(", ", env.getActiveProfiles()) : "default");
+            if (Threading.VIRTUAL.isActive(env)) {
+                log.info("Requisições em virtual threads (Java {})", Runtime.version().feature());
+            } else if (env.getProperty("spring.threads.virtual.enabled", Boolean.class, false)) {
+                log.warn("VIRTUAL_THREADS_ENABLED exige Java 21+ (atual: {}); usando threads de plataforma",
+                    Runtime.version().feature());
+            }
+            log.info("Configuração carregada com sucesso!");
         };
     }
 } 
\ No newline at end of file
@@ -0,0 +1,46 @@
+package com.ecommerce.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.retry.optimistic-lock")
+public class OptimisticLockRetryConfig {
+    
+    private int maxAttempts = 3;
+    private long initialBackoffMs = 20;
+    private long maxBackoffMs = 200;
+    private double multiplier = 2.0;
+    
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+    
+    public void setMaxAttempts(int maxAttempts) {
+        this.maxAttempts = maxAttempts;
+    }
+    
+    public long getInitialBackoffMs() {
+        return initialBackoffMs;
+    }
+    
+    public void setInitialBackoffMs(long initialBackoffMs) {
+        this.initialBackoffMs = initialBackoffMs;
+    }
+    
+    public long getMaxBackoffMs() {
+        return maxBackoffMs;
+    }
+    
+    public void setMaxBackoffMs(long maxBackoffMs) {
+        this.maxBackoffMs = maxBackoffMs;
+    }
+    
+    public double getMultiplier() {
+        return multiplier;
+    }
+    
+    public void setMultiplier(double multiplier) {
+        this.multiplier = multiplier;
+    }
+}
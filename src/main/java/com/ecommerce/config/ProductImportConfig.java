@@ -0,0 +1,31 @@
+package com.ecommerce.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.products.import")
+public class ProductImportConfig {
+
+    // Linhas por batch JDBC (e por transação) na importação em massa
+    private int batchSize = 500;
+
+    // Limita o tamanho da resposta quando o arquivo inteiro é inválido; as demais falhas só entram na contagem
+    private int maxReportedErrors = 1000;
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getMaxReportedErrors() {
+        return maxReportedErrors;
+    }
+
+    public void setMaxReportedErrors(int maxReportedErrors) {
+        this.maxReportedErrors = maxReportedErrors;
+    }
+}
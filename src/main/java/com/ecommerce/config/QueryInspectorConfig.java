@@ -0,0 +1,83 @@
+package com.ecommerce.config;
+
+import com.ecommerce.monitoring.QueryCountFilter;
+import com.ecommerce.monitoring.QueryCountingDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+/**
+ * Contagem de SQL por requisição: o DataSource principal é envolvido por um proxy
+ * e um filtro abre o escopo de contagem antes da cadeia do Spring Security.
+ * Desligado por padrão; ativo nos perfis de teste e no teste de carga.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.query-inspector")
+@ConditionalOnProperty(prefix = "app.query-inspector", name = "enabled", havingValue = "true")
+public class QueryInspectorConfig {
+    
+    private boolean enabled = false;
+    private boolean exposeHeaders = false;
+    private int maxQueriesPerRequest = 0;
+    private boolean failOnExceed = false;
+    
+    // Apenas o bean "dataSource" usado pelo JPA; DataSources auxiliares não são envolvidos
+    @Bean
+    public static BeanPostProcessor queryCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if ("dataSource".equals(beanName) && bean instanceof DataSource dataSource
+                        && !(bean instanceof QueryCountingDataSource)) {
+                    return new QueryCountingDataSource(dataSource);
+                }
+                return bean;
+            }
+        };
+    }
+    
+    @Bean
+    public FilterRegistrationBean<QueryCountFilter> queryCountFilter() {
+        FilterRegistrationBean<QueryCountFilter> registration = new FilterRegistrationBean<>(new QueryCountFilter(this));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+    
+    public boolean isEnabled() {
+        return enabled;
+    }
+    
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+    
+    public boolean isExposeHeaders() {
+        return exposeHeaders;
+    }
+    
+    public void setExposeHeaders(boolean exposeHeaders) {
+        this.exposeHeaders = exposeHeaders;
+    }
+    
+    public int getMaxQueriesPerRequest() {
+        return maxQueriesPerRequest;
+    }
+    
+    public void setMaxQueriesPerRequest(int maxQueriesPerRequest) {
+        this.maxQueriesPerRequest = maxQueriesPerRequest;
+    }
+    
+    public boolean isFailOnExceed() {
+        return failOnExceed;
+    }
+    
+    public void setFailOnExceed(boolean failOnExceed) {
+        this.failOnExceed = failOnExceed;
+    }
+}
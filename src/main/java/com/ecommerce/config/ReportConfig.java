@@ -0,0 +1,40 @@
+package com.ecommerce.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "app.reports")
+public class ReportConfig {
+    
+    // false volta às consultas sobre a tabela orders (ex.: enquanto os agregados são reconstruídos)
+    private boolean useAggregates = true;
+    
+    // Relatórios assíncronos (POST /api/reports/jobs): threads dedicadas e fila limitada
+    private int jobPoolSize = 2;
+    private int jobQueueCapacity = 20;
+    
+    public boolean isUseAggregates() {
+        return useAggregates;
+    }
+    
+    public void setUseAggregates(boolean useAggregates) {
+        this.useAggregates = useAggregates;
+    }
+    
+    public int getJobPoolSize() {
+        return jobPoolSize;
+    }
+    
+    public void setJobPoolSize(int jobPoolSize) {
+        this.jobPoolSize = jobPoolSize;
+    }
+    
+    public int getJobQueueCapacity() {
+        return jobQueueCapacity;
+    }
+    
+    public void setJobQueueCapacity(int jobQueueCapacity) {
+        this.jobQueueCapacity = jobQueueCapacity;
+    }
+}
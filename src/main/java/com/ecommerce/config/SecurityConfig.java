@@ -3,6 +3,7 @@ package com.ecommerce.config;
 import com.ecommerce.security.JwtAuthenticationEntryPoint;
 import com.ecommerce.security.JwtAuthenticationFilter;
 import com.ecommerce.security.JwtTokenProvider;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -48,7 +49,12 @@ public class SecurityConfig {
                 .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
             )
             .authorizeHttpRequests(authz -> authz
+                // Continuação de requests assíncronos (exportações em streaming): já autorizados no dispatch original
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 .requestMatchers("/api/auth/**").permitAll()
+                // Health checks e scrape do Prometheus ficam abertos; demais endpoints do Actuator exigem ADMIN
+                .requestMatchers("/actuator/health/**", "/actuator/info", "/actuator/prometheus").permitAll()
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
                 .requestMatchers("/api/products/**").hasAnyRole("ADMIN", "USER")
                 .requestMatchers("/api/orders/**").hasRole("USER")
                 .requestMatchers("/api/reports/**").hasRole("ADMIN")
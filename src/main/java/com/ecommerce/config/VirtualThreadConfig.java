@@ -0,0 +1,83 @@
+package com.ecommerce.config;
+
+import com.ecommerce.threads.ConcurrencyLimitFilter;
+import com.ecommerce.threads.PinnedThreadMonitor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+/**
+ * Modo virtual threads (spring.threads.virtual.enabled em Java 21+). O Spring Boot já coloca
+ * Tomcat, @Async (applicationTaskExecutor) e @Scheduled em virtual threads; aqui ficam o limite
+ * de requisições simultâneas atrelado ao pool do Hikari e o monitoramento de pinning.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.virtual-threads")
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+    
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadConfig.class);
+    
+    // Requisições por conexão do pool quando max-concurrent-requests não é informado
+    static final int REQUESTS_PER_CONNECTION = 4;
+    
+    // 0 = REQUESTS_PER_CONNECTION x spring.datasource.hikari.maximum-pool-size
+    private int maxConcurrentRequests = 0;
+    private long acquireTimeoutMs = 2000;
+    private long pinnedThresholdMs = 20;
+    
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize, MeterRegistry meterRegistry) {
+        int limit = maxConcurrentRequests > 0 ? maxConcurrentRequests : poolSize * REQUESTS_PER_CONNECTION;
+        log.info("Virtual threads ativas: até {} requisições simultâneas para {} conexões no pool", limit, poolSize);
+        
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration =
+            new FilterRegistrationBean<>(new ConcurrencyLimitFilter(limit, acquireTimeoutMs, meterRegistry));
+        // Apenas a API; /actuator (health, scrape do Prometheus) continua respondendo sob carga
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+    
+    @Bean(destroyMethod = "close")
+    public PinnedThreadMonitor pinnedThreadMonitor(MeterRegistry meterRegistry) {
+        PinnedThreadMonitor monitor = new PinnedThreadMonitor(Duration.ofMillis(pinnedThresholdMs), meterRegistry);
+        monitor.start();
+        return monitor;
+    }
+    
+    public int getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+    
+    public void setMaxConcurrentRequests(int maxConcurrentRequests) {
+        this.maxConcurrentRequests = maxConcurrentRequests;
+    }
+    
+    public long getAcquireTimeoutMs() {
+        return acquireTimeoutMs;
+    }
+    
+    public void setAcquireTimeoutMs(long acquireTimeoutMs) {
+        this.acquireTimeoutMs = acquireTimeoutMs;
+    }
+    
+    public long getPinnedThresholdMs() {
+        return pinnedThresholdMs;
+    }
+    
+    public void setPinnedThresholdMs(long pinnedThresholdMs) {
+        this.pinnedThresholdMs = pinnedThresholdMs;
+    }
+}
@@ -1,7 +1,9 @@
 package com.ecommerce.controller;
 
+import com.ecommerce.dto.common.CursorPageDTO;
 import com.ecommerce.dto.order.OrderRequestDTO;
 import com.ecommerce.dto.order.OrderResponseDTO;
+import com.ecommerce.service.OptimisticLockRetryExecutor;
 import com.ecommerce.service.OrderService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -23,6 +25,9 @@ public class OrderController {
     @Autowired
     private OrderService orderService;
     
+    @Autowired
+    private OptimisticLockRetryExecutor retryExecutor;
+    
     @PostMapping
     public ResponseEntity<OrderResponseDTO> createOrder(@Valid @RequestBody OrderRequestDTO request) {
         OrderResponseDTO order = orderService.createOrder(request);
@@ -31,7 +36,8 @@ public class OrderController {
     
     @PostMapping("/{id}/pay")
     public ResponseEntity<OrderResponseDTO> payOrder(@PathVariable UUID id) {
-        OrderResponseDTO order = orderService.payOrder(id);
+        // Cada tentativa roda em uma nova transação de OrderService.payOrder
+        OrderResponseDTO order = retryExecutor.execute("payOrder", () -> orderService.payOrder(id));
         return ResponseEntity.ok(order);
     }
     
@@ -46,4 +52,13 @@ public class OrderController {
         Page<OrderResponseDTO> orders = orderService.getUserOrders(pageable);
         return ResponseEntity.ok(orders);
     }
+    
+    // Paginação por cursor: ?after= (vazio na primeira página) e depois o nextCursor retornado
+    @GetMapping(params = "after")
+    public ResponseEntity<CursorPageDTO<OrderResponseDTO>> getUserOrdersAfter(@RequestParam String after,
+                                                                            @RequestParam(defaultValue = "20") int size,
+                                                                            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        CursorPageDTO<OrderResponseDTO> orders = orderService.getUserOrdersAfter(after, size, includeTotal);
+        return ResponseEntity.ok(orders);
+    }
 }
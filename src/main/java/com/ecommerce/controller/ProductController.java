@@ -1,8 +1,12 @@
 package com.ecommerce.controller;
 
+import com.ecommerce.dto.common.CursorPageDTO;
+import com.ecommerce.dto.product.ProductImportResultDTO;
 import com.ecommerce.dto.product.ProductRequestDTO;
 import com.ecommerce.dto.product.ProductResponseDTO;
 import com.ecommerce.dto.product.ProductUpdateDTO;
+import com.ecommerce.enums.ExportFormat;
+import com.ecommerce.service.ProductImportService;
 import com.ecommerce.service.ProductService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,6 +17,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.UUID;
 
@@ -24,6 +30,9 @@ public class ProductController {
     @Autowired
     private ProductService productService;
     
+    @Autowired
+    private ProductImportService productImportService;
+    
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<ProductResponseDTO> createProduct(@Valid @RequestBody ProductRequestDTO request) {
@@ -31,6 +40,16 @@ public class ProductController {
         return ResponseEntity.status(HttpStatus.CREATED).body(product);
     }
     
+    // Importação em massa: corpo CSV (cabeçalho id,name,description,price,category,stock_quantity) ou NDJSON,
+    // lido em streaming; linhas com id atualizam o produto existente, as demais são criadas
+    @PostMapping("/bulk")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ProductImportResultDTO> importProducts(@RequestParam(defaultValue = "csv") String format,
+                                                                 InputStream body) throws IOException {
+        ProductImportResultDTO result = productImportService.importProducts(ExportFormat.fromParam(format), body);
+        return ResponseEntity.ok(result);
+    }
+    
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<ProductResponseDTO> updateProduct(@PathVariable UUID id, 
@@ -58,6 +77,15 @@ public class ProductController {
         return ResponseEntity.ok(products);
     }
     
+    // Paginação por cursor: ?after= (vazio na primeira página) e depois o nextCursor retornado
+    @GetMapping(params = "after")
+    public ResponseEntity<CursorPageDTO<ProductResponseDTO>> getProductsAfter(@RequestParam String after,
+                                                                            @RequestParam(defaultValue = "20") int size,
+                                                                            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        CursorPageDTO<ProductResponseDTO> products = productService.getProductsAfter(after, size, includeTotal);
+        return ResponseEntity.ok(products);
+    }
+    
     @GetMapping("/search")
     public ResponseEntity<Page<ProductResponseDTO>> searchProducts(@RequestParam String name, 
                                                                   Pageable pageable) {
@@ -1,15 +1,34 @@
 package com.ecommerce.controller;
 
 import com.ecommerce.dto.report.MonthlyRevenueDTO;
+import com.ecommerce.dto.report.ReportJobDTO;
+import com.ecommerce.dto.report.ReportJobRequestDTO;
 import com.ecommerce.dto.report.TopUserDTO;
 import com.ecommerce.dto.report.UserAverageTicketDTO;
+import com.ecommerce.enums.ExportFormat;
+import com.ecommerce.enums.ReportJobStatus;
+import com.ecommerce.service.ReportExportService;
+import com.ecommerce.service.ReportJobService;
 import com.ecommerce.service.ReportService;
+import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.net.URI;
+import java.time.YearMonth;
 import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/reports")
@@ -20,6 +39,12 @@ public class ReportController {
     @Autowired
     private ReportService reportService;
     
+    @Autowired
+    private ReportExportService reportExportService;
+    
+    @Autowired
+    private ReportJobService reportJobService;
+    
     @GetMapping("/top-users")
     public ResponseEntity<List<TopUserDTO>> getTop5Users() {
         List<TopUserDTO> topUsers = reportService.getTop5UsersByPurchases();
@@ -27,8 +52,10 @@ public class ReportController {
     }
     
     @GetMapping("/average-tickets")
-    public ResponseEntity<List<UserAverageTicketDTO>> getUserAverageTickets() {
-        List<UserAverageTicketDTO> averageTickets = reportService.getUserAverageTickets();
+    public ResponseEntity<Page<UserAverageTicketDTO>> getUserAverageTickets(@RequestParam(defaultValue = "1") int minOrders,
+                                                                          @RequestParam(required = false) Integer top,
+                                                                          @PageableDefault(size = 20) Pageable pageable) {
+        Page<UserAverageTicketDTO> averageTickets = reportService.getUserAverageTickets(minOrders, top, pageable);
         return ResponseEntity.ok(averageTickets);
     }
     
@@ -38,4 +65,60 @@ public class ReportController {
         MonthlyRevenueDTO monthlyRevenue = reportService.getMonthlyRevenue(year, month);
         return ResponseEntity.ok(monthlyRevenue);
     }
+    
+    @GetMapping("/revenue")
+    public ResponseEntity<List<MonthlyRevenueDTO>> getRevenueSeries(@RequestParam YearMonth from,
+                                                                    @RequestParam YearMonth to) {
+        List<MonthlyRevenueDTO> series = reportService.getRevenueSeries(from, to);
+        return ResponseEntity.ok(series);
+    }
+    
+    // Relatórios assíncronos: 202 com o job em andamento, 200 quando o resultado já está em cache
+    @PostMapping("/jobs")
+    public ResponseEntity<ReportJobDTO> submitJob(@Valid @RequestBody ReportJobRequestDTO request) {
+        ReportJobDTO job = reportJobService.submit(request);
+        HttpStatus status = job.getStatus() == ReportJobStatus.COMPLETED ? HttpStatus.OK : HttpStatus.ACCEPTED;
+        return ResponseEntity.status(status)
+            .location(URI.create("/api/reports/jobs/" + job.getId()))
+            .body(job);
+    }
+    
+    @GetMapping("/jobs/{id}")
+    public ResponseEntity<ReportJobDTO> getJob(@PathVariable UUID id) {
+        ReportJobDTO job = reportJobService.getJob(id);
+        return ResponseEntity.ok(job);
+    }
+    
+    @GetMapping("/export/orders")
+    public ResponseEntity<StreamingResponseBody> exportOrders(@RequestParam(defaultValue = "csv") String format,
+                                                              @RequestParam(defaultValue = "false") boolean gzip) {
+        ExportFormat exportFormat = ExportFormat.fromParam(format);
+        return export("orders", exportFormat, gzip, out -> reportExportService.exportOrders(exportFormat, out));
+    }
+    
+    @GetMapping("/export/average-tickets")
+    public ResponseEntity<StreamingResponseBody> exportUserTickets(@RequestParam(defaultValue = "csv") String format,
+                                                                   @RequestParam(defaultValue = "false") boolean gzip) {
+        ExportFormat exportFormat = ExportFormat.fromParam(format);
+        return export("average-tickets", exportFormat, gzip, out -> reportExportService.exportUserTickets(exportFormat, out));
+    }
+    
+    // O corpo é escrito depois do retorno, em uma thread de request assíncrono
+    private ResponseEntity<StreamingResponseBody> export(String name, ExportFormat format, boolean gzip,
+                                                         StreamingResponseBody body) {
+        String filename = name + "." + format.getExtension() + (gzip ? ".gz" : "");
+        StreamingResponseBody stream = body;
+        if (gzip) {
+            stream = out -> {
+                GZIPOutputStream gzipOut = new GZIPOutputStream(out, 8192);
+                body.writeTo(gzipOut);
+                gzipOut.finish();
+            };
+        }
+        
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType(gzip ? "application/gzip" : format.getContentType()))
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+            .body(stream);
+    }
 }
@@ -0,0 +1,42 @@
+package com.ecommerce.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Transações readOnly vão para a réplica enquanto o atraso de replicação estiver abaixo do limite;
+ * todo o resto (escritas, leituras dentro de transações de escrita, código sem transação) vai para o primário.
+ * Deve ficar atrás de um LazyConnectionDataSourceProxy: a conexão só é escolhida no primeiro comando,
+ * depois que o flag readOnly da transação já foi registrado.
+ */
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+    
+    public enum Target {
+        PRIMARY,
+        REPLICA
+    }
+    
+    private final ReplicaLagMonitor lagMonitor;
+    
+    public ReadReplicaRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor) {
+        this.lagMonitor = lagMonitor;
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+    }
+    
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return currentTarget();
+    }
+    
+    public Target currentTarget() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && lagMonitor.isReplicaAvailable()) {
+            return Target.REPLICA;
+        }
+        return Target.PRIMARY;
+    }
+}
@@ -0,0 +1,99 @@
+package com.ecommerce.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import javax.sql.DataSource;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mede o atraso da réplica com um batimento (mesma técnica do pt-heartbeat): o instante atual é gravado
+ * no primário e o valor que chegou à réplica é lido logo depois. Acima de maxLagMs, ou se a réplica
+ * não responder, as leituras voltam para o primário até a réplica alcançá-lo.
+ */
+public class ReplicaLagMonitor implements AutoCloseable {
+    
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+    
+    static final String BEAT_SQL = "UPDATE replication_heartbeat SET beat_at_ms = ? WHERE id = 1";
+    static final String READ_BEAT_SQL = "SELECT beat_at_ms FROM replication_heartbeat WHERE id = 1";
+    
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final long maxLagMs;
+    private ScheduledExecutorService scheduler;
+    
+    private volatile boolean replicaAvailable;
+    private volatile long lagMs = -1;
+    
+    public ReplicaLagMonitor(DataSource primary, DataSource replica, long maxLagMs, MeterRegistry meterRegistry) {
+        this.primary = new JdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replica);
+        this.replica.setQueryTimeout(2);
+        this.maxLagMs = maxLagMs;
+        
+        TimeGauge.builder("ecommerce.datasource.replica.lag", this, TimeUnit.MILLISECONDS, monitor -> monitor.lagMs)
+            .description("Atraso de replicação medido pelo batimento (-1 se indisponível)")
+            .register(meterRegistry);
+        Gauge.builder("ecommerce.datasource.replica.available", this, monitor -> monitor.replicaAvailable ? 1 : 0)
+            .description("1 quando as transações readOnly estão sendo enviadas à réplica")
+            .register(meterRegistry);
+    }
+    
+    public void start(long checkIntervalMs) {
+        scheduler = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("replica-lag-"));
+        scheduler.scheduleWithFixedDelay(this::check, 0, checkIntervalMs, TimeUnit.MILLISECONDS);
+    }
+    
+    public void check() {
+        long now = System.currentTimeMillis();
+        try {
+            primary.update(BEAT_SQL, now);
+        } catch (RuntimeException e) {
+            // Sem escrita no primário o batimento da réplica envelhece e o limite de atraso decide
+            log.debug("Falha ao gravar o batimento de replicação no primário", e);
+        }
+        
+        boolean available;
+        try {
+            Long beat = replica.queryForObject(READ_BEAT_SQL, Long.class);
+            lagMs = Math.max(0, System.currentTimeMillis() - (beat != null ? beat : 0));
+            available = lagMs <= maxLagMs;
+        } catch (RuntimeException e) {
+            lagMs = -1;
+            available = false;
+            log.debug("Falha ao ler o batimento de replicação na réplica", e);
+        }
+        
+        if (available != replicaAvailable) {
+            if (available) {
+                log.info("Réplica disponível (atraso {} ms): leituras readOnly voltam para a réplica", lagMs);
+            } else {
+                log.warn("Réplica indisponível ou atrasada (atraso {} ms, limite {} ms): leituras no primário", lagMs, maxLagMs);
+            }
+            replicaAvailable = available;
+        }
+    }
+    
+    public boolean isReplicaAvailable() {
+        return replicaAvailable;
+    }
+    
+    public long getLagMs() {
+        return lagMs;
+    }
+    
+    @Override
+    public void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+}
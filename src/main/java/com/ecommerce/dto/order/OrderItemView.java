@@ -0,0 +1,15 @@
+package com.ecommerce.dto.order;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public record OrderItemView(
+    UUID orderId,
+    UUID id,
+    UUID productId,
+    String productName,
+    Integer quantity,
+    BigDecimal unitPrice,
+    BigDecimal totalPrice
+) {
+}
@@ -0,0 +1,16 @@
+package com.ecommerce.dto.order;
+
+import com.ecommerce.enums.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record OrderSummaryView(
+    UUID id,
+    OrderStatus status,
+    BigDecimal totalAmount,
+    LocalDateTime createdAt,
+    LocalDateTime updatedAt
+) {
+}
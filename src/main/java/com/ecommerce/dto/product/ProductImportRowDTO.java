@@ -0,0 +1,19 @@
+package com.ecommerce.dto.product;
+
+import java.util.UUID;
+
+/**
+ * Linha da importação em massa: as mesmas regras do ProductRequestDTO e, opcionalmente,
+ * o id de um produto existente a ser atualizado.
+ */
+public class ProductImportRowDTO extends ProductRequestDTO {
+    private UUID id;
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+}
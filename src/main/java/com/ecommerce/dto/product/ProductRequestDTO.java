@@ -6,15 +6,18 @@ import java.math.BigDecimal;
 
 public class ProductRequestDTO {
     @NotBlank(message = "Nome é obrigatório")
+    @Size(max = 255, message = "Nome deve ter no máximo 255 caracteres")
     private String name;
     
     private String description;
     
     @NotNull(message = "Preço é obrigatório")
     @DecimalMin(value = "0.01", message = "Preço deve ser maior que zero")
+    @Digits(integer = 8, fraction = 2, message = "Preço deve ter no máximo 8 dígitos inteiros e 2 decimais")
     private BigDecimal price;
     
     @NotBlank(message = "Categoria é obrigatória")
+    @Size(max = 255, message = "Categoria deve ter no máximo 255 caracteres")
     private String category;
     
     @NotNull(message = "Quantidade em estoque é obrigatória")
@@ -0,0 +1,18 @@
+package com.ecommerce.dto.report;
+
+import com.ecommerce.enums.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record OrderExportView(
+    UUID orderId,
+    UUID userId,
+    String userEmail,
+    OrderStatus status,
+    BigDecimal totalAmount,
+    LocalDateTime createdAt,
+    LocalDateTime updatedAt
+) {
+}
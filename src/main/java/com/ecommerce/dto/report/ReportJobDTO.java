@@ -0,0 +1,98 @@
+package com.ecommerce.dto.report;
+
+import com.ecommerce.enums.ReportJobStatus;
+import com.ecommerce.enums.ReportType;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+public class ReportJobDTO {
+    private UUID id;
+    private ReportType type;
+    private Map<String, String> params;
+    private ReportJobStatus status;
+    private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
+    private String error;
+    private Object result;
+    
+    public ReportJobDTO() {
+    }
+    
+    public ReportJobDTO(UUID id, ReportType type, Map<String, String> params, ReportJobStatus status,
+                        LocalDateTime createdAt, LocalDateTime completedAt, String error, Object result) {
+        this.id = id;
+        this.type = type;
+        this.params = params;
+        this.status = status;
+        this.createdAt = createdAt;
+        this.completedAt = completedAt;
+        this.error = error;
+        this.result = result;
+    }
+    
+    public UUID getId() {
+        return id;
+    }
+    
+    public void setId(UUID id) {
+        this.id = id;
+    }
+    
+    public ReportType getType() {
+        return type;
+    }
+    
+    public void setType(ReportType type) {
+        this.type = type;
+    }
+    
+    public Map<String, String> getParams() {
+        return params;
+    }
+    
+    public void setParams(Map<String, String> params) {
+        this.params = params;
+    }
+    
+    public ReportJobStatus getStatus() {
+        return status;
+    }
+    
+    public void setStatus(ReportJobStatus status) {
+        this.status = status;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+    
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+    
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+    
+    public String getError() {
+        return error;
+    }
+    
+    public void setError(String error) {
+        this.error = error;
+    }
+    
+    public Object getResult() {
+        return result;
+    }
+    
+    public void setResult(Object result) {
+        this.result = result;
+    }
+}
@@ -0,0 +1,31 @@
+package com.ecommerce.dto.report;
+
+import com.ecommerce.enums.ReportType;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class ReportJobRequestDTO {
+    @NotNull(message = "Tipo do relatório é obrigatório")
+    private ReportType type;
+    
+    // Mesmos parâmetros dos endpoints síncronos (ex.: year/month, from/to, minOrders/top/page/size)
+    private Map<String, String> params = new HashMap<>();
+    
+    public ReportType getType() {
+        return type;
+    }
+    
+    public void setType(ReportType type) {
+        this.type = type;
+    }
+    
+    public Map<String, String> getParams() {
+        return params;
+    }
+    
+    public void setParams(Map<String, String> params) {
+        this.params = params;
+    }
+}
@@ -0,0 +1,13 @@
+package com.ecommerce.dto.report;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public record UserTicketExportView(
+    UUID userId,
+    String email,
+    String name,
+    Long paidOrders,
+    BigDecimal totalSpent
+) {
+}
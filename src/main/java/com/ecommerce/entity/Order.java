@@ -9,15 +9,22 @@ import java.util.List;
 import java.util.UUID;
 import java.sql.Types;
 import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.UuidGenerator;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+    @Index(name = "idx_user_id", columnList = "user_id"),
+    @Index(name = "idx_created_at", columnList = "created_at"),
+    @Index(name = "idx_orders_user_created", columnList = "user_id, created_at, id"),
+    @Index(name = "idx_orders_status_created", columnList = "status, created_at, total_amount"),
+    @Index(name = "idx_orders_status_user", columnList = "status, user_id, total_amount")
+})
 public class Order {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
-    @JdbcTypeCode(Types.CHAR)
-    @Column(columnDefinition = "CHAR(36)")
+    @UuidGenerator(algorithm = UuidV7Generator.class)
+    @JdbcTypeCode(Types.BINARY)
+    @Column(columnDefinition = "BINARY(16)")
     private UUID id;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -34,6 +41,10 @@ public class Order {
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<OrderItem> items;
     
+    @Version
+    @Column(nullable = false)
+    private Long version;
+    
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
     
@@ -107,6 +118,14 @@ public class Order {
         this.items = items;
     }
     
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+    
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
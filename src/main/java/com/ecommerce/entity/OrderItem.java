@@ -6,15 +6,19 @@ import java.math.BigDecimal;
 import java.util.UUID;
 import java.sql.Types;
 import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.UuidGenerator;
 
 @Entity
-@Table(name = "order_items")
+@Table(name = "order_items", indexes = {
+    @Index(name = "idx_order_id", columnList = "order_id"),
+    @Index(name = "idx_product_id", columnList = "product_id")
+})
 public class OrderItem {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
-    @JdbcTypeCode(Types.CHAR)
-    @Column(columnDefinition = "CHAR(36)")
+    @UuidGenerator(algorithm = UuidV7Generator.class)
+    @JdbcTypeCode(Types.BINARY)
+    @Column(columnDefinition = "BINARY(16)")
     private UUID id;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -25,6 +29,10 @@ public class OrderItem {
     @JoinColumn(name = "product_id", nullable = false)
     private Product product;
     
+    // Cópia do nome no momento da compra: as leituras de pedidos não dependem de products
+    @Column(name = "product_name", nullable = false)
+    private String productName;
+    
     @Column(nullable = false)
     private Integer quantity;
     
@@ -41,11 +49,19 @@ public class OrderItem {
         this.id = id;
         this.order = order;
         this.product = product;
+        this.productName = product != null ? product.getName() : null;
         this.quantity = quantity;
         this.unitPrice = unitPrice;
         this.totalPrice = totalPrice;
     }
     
+    @PrePersist
+    public void prePersist() {
+        if (productName == null && product != null) {
+            productName = product.getName();
+        }
+    }
+    
     public UUID getId() {
         return id;
     }
@@ -70,6 +86,14 @@ public class OrderItem {
         this.product = product;
     }
     
+    public String getProductName() {
+        return productName;
+    }
+    
+    public void setProductName(String productName) {
+        this.productName = productName;
+    }
+    
     public Integer getQuantity() {
         return quantity;
     }
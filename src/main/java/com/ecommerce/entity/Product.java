@@ -6,15 +6,19 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 import java.sql.Types;
 import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.UuidGenerator;
 
 @Entity
-@Table(name = "products")
+@Table(name = "products", indexes = {
+    @Index(name = "idx_category", columnList = "category"),
+    @Index(name = "idx_name", columnList = "name")
+})
 public class Product {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
-    @JdbcTypeCode(Types.CHAR)
-    @Column(columnDefinition = "CHAR(36)")
+    @UuidGenerator(algorithm = UuidV7Generator.class)
+    @JdbcTypeCode(Types.BINARY)
+    @Column(columnDefinition = "BINARY(16)")
     private UUID id;
     
     @Column(nullable = false)
@@ -32,6 +36,10 @@ public class Product {
     @Column(name = "stock_quantity", nullable = false)
     private Integer stockQuantity;
     
+    @Version
+    @Column(nullable = false)
+    private Long version;
+    
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
     
@@ -111,6 +119,14 @@ public class Product {
         this.stockQuantity = stockQuantity;
     }
     
+    public Long getVersion() {
+        return version;
+    }
+    
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+    
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -1,5 +1,6 @@
 package com.ecommerce.entity;
 
+import com.ecommerce.cache.PrincipalCacheEvictionListener;
 import com.ecommerce.enums.UserRole;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
@@ -13,15 +14,17 @@ import java.util.List;
 import java.util.UUID;
 import java.sql.Types;
 import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.annotations.UuidGenerator;
 
 @Entity
 @Table(name = "users")
+@EntityListeners(PrincipalCacheEvictionListener.class)
 public class User implements UserDetails {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
-    @JdbcTypeCode(Types.CHAR)
-    @Column(columnDefinition = "CHAR(36)")
+    @UuidGenerator(algorithm = UuidV7Generator.class)
+    @JdbcTypeCode(Types.BINARY)
+    @Column(columnDefinition = "BINARY(16)")
     private UUID id;
     
     @Column(unique = true, nullable = false)
@@ -43,6 +46,10 @@ public class User implements UserDetails {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
     
+    // E-mail como está no banco: se for alterado, o cache de principals também precisa esquecer a chave antiga
+    @Transient
+    private String persistedEmail;
+    
     public User() {
     }
     
@@ -67,6 +74,14 @@ public class User implements UserDetails {
         updatedAt = LocalDateTime.now();
     }
     
+    // Roda depois dos listeners (PrincipalCacheEvictionListener ainda vê o e-mail anterior no @PostUpdate)
+    @PostLoad
+    @PostPersist
+    @PostUpdate
+    void rememberPersistedEmail() {
+        persistedEmail = email;
+    }
+    
     public UUID getId() {
         return id;
     }
@@ -123,6 +138,11 @@ public class User implements UserDetails {
         this.updatedAt = updatedAt;
     }
     
+    @JsonIgnore
+    public String getPersistedEmail() {
+        return persistedEmail;
+    }
+    
     @Override
     @JsonIgnore
     public Collection<? extends GrantedAuthority> getAuthorities() {
@@ -0,0 +1,8 @@
+package com.ecommerce.enums;
+
+public enum ReportJobStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,8 @@
+package com.ecommerce.enums;
+
+public enum ReportType {
+    TOP_USERS,
+    AVERAGE_TICKETS,
+    MONTHLY_REVENUE,
+    REVENUE_SERIES
+}
@@ -0,0 +1,12 @@
+package com.ecommerce.exception;
+
+/**
+ * Pagamento recusado por falta de estoque. O pedido já foi cancelado na mesma transação,
+ * que é confirmada mesmo com a exceção (ver OrderService.payOrder).
+ */
+public class InsufficientStockException extends RuntimeException {
+    
+    public InsufficientStockException(String productName) {
+        super("Insufficient stock for product: " + productName + ". Order cancelled.");
+    }
+}
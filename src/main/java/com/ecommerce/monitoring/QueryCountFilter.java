@@ -0,0 +1,44 @@
+package com.ecommerce.monitoring;
+
+import com.ecommerce.config.QueryInspectorConfig;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Abre um escopo de contagem de SQL por requisição e registra um aviso quando o
+ * número de comandos passa do limite configurado (indício de N+1).
+ */
+public class QueryCountFilter extends OncePerRequestFilter {
+    
+    private static final Logger log = LoggerFactory.getLogger(QueryCountFilter.class);
+    
+    private final QueryInspectorConfig config;
+    
+    public QueryCountFilter(QueryInspectorConfig config) {
+        this.config = config;
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        QueryStats stats = QueryCountHolder.start(config.getMaxQueriesPerRequest(), config.isFailOnExceed());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            QueryCountHolder.stop();
+            if (stats.isOverThreshold()) {
+                log.warn("{} {} executed {} SQL statements (threshold {}): {}",
+                    request.getMethod(), request.getRequestURI(), stats.getQueries(), stats.getMaxQueries(), stats);
+            } else if (log.isDebugEnabled()) {
+                log.debug("{} {}: {}", request.getMethod(), request.getRequestURI(), stats);
+            }
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.ecommerce.monitoring;
+
+import java.util.function.Supplier;
+
+/**
+ * Escopo de contagem por thread. O {@link QueryCountFilter} abre um escopo por requisição;
+ * testes podem abrir o seu com {@link #count(Runnable)} ou {@link #measure(Supplier)} para verificar o número de consultas.
+ * Sem escopo ativo nada é contado.
+ */
+public final class QueryCountHolder {
+    
+    private static final ThreadLocal<QueryStats> CURRENT = new ThreadLocal<>();
+    
+    private QueryCountHolder() {
+    }
+    
+    public static QueryStats start(int maxQueries, boolean failOnExceed) {
+        QueryStats stats = new QueryStats(maxQueries, failOnExceed);
+        CURRENT.set(stats);
+        return stats;
+    }
+    
+    public static QueryStats current() {
+        return CURRENT.get();
+    }
+    
+    public static QueryStats stop() {
+        QueryStats stats = CURRENT.get();
+        CURRENT.remove();
+        return stats;
+    }
+    
+    public static QueryStats count(Runnable action) {
+        return measure(() -> {
+            action.run();
+            return null;
+        }).stats();
+    }
+    
+    public static <T> Measured<T> measure(Supplier<T> action) {
+        QueryStats previous = CURRENT.get();
+        QueryStats stats = start(0, false);
+        try {
+            T result = action.get();
+            return new Measured<>(result, stats);
+        } finally {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+    
+    public record Measured<T>(T result, QueryStats stats) {
+    }
+}
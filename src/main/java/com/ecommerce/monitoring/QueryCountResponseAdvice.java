@@ -0,0 +1,41 @@
+package com.ecommerce.monitoring;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Modo de depuração: anexa os contadores de SQL da requisição como cabeçalhos da resposta.
+ * Roda logo antes da serialização do corpo, quando o controller já terminou de consultar o banco.
+ */
+@RestControllerAdvice
+@ConditionalOnProperty(prefix = "app.query-inspector", name = "expose-headers", havingValue = "true")
+public class QueryCountResponseAdvice implements ResponseBodyAdvice<Object> {
+    
+    public static final String QUERY_COUNT_HEADER = "X-Query-Count";
+    public static final String BATCH_COUNT_HEADER = "X-Query-Batches";
+    public static final String ROWS_FETCHED_HEADER = "X-Rows-Fetched";
+    
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+    
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        QueryStats stats = QueryCountHolder.current();
+        if (stats != null) {
+            response.getHeaders().set(QUERY_COUNT_HEADER, String.valueOf(stats.getQueries()));
+            response.getHeaders().set(BATCH_COUNT_HEADER, String.valueOf(stats.getBatches()));
+            response.getHeaders().set(ROWS_FETCHED_HEADER, String.valueOf(stats.getRows()));
+        }
+        return body;
+    }
+}
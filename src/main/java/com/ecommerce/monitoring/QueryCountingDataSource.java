@@ -0,0 +1,109 @@
+package com.ecommerce.monitoring;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Envolve conexões, statements e result sets em proxies que alimentam o
+ * {@link QueryStats} da thread atual. Cobre tanto o Hibernate quanto o JdbcTemplate.
+ */
+public class QueryCountingDataSource extends DelegatingDataSource implements AutoCloseable {
+    
+    public QueryCountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+    
+    @Override
+    public Connection getConnection() throws SQLException {
+        return proxy(Connection.class, super.getConnection(), QueryCountingDataSource::onConnectionCall);
+    }
+    
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return proxy(Connection.class, super.getConnection(username, password), QueryCountingDataSource::onConnectionCall);
+    }
+    
+    // O bean original (ex.: HikariDataSource) deixa de ser o exposto, então o close é repassado
+    @Override
+    public void close() throws Exception {
+        if (obtainTargetDataSource() instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+    
+    private static Object onConnectionCall(Method method, Object result) {
+        if (result instanceof CallableStatement statement) {
+            return proxy(CallableStatement.class, statement, QueryCountingDataSource::onStatementCall);
+        }
+        if (result instanceof PreparedStatement statement) {
+            return proxy(PreparedStatement.class, statement, QueryCountingDataSource::onStatementCall);
+        }
+        if (result instanceof Statement statement) {
+            return proxy(Statement.class, statement, QueryCountingDataSource::onStatementCall);
+        }
+        return result;
+    }
+    
+    private static Object onStatementCall(Method method, Object result) {
+        QueryStats stats = QueryCountHolder.current();
+        String name = method.getName();
+        if (stats != null) {
+            if (name.equals("executeBatch") || name.equals("executeLargeBatch")) {
+                stats.batchExecuted();
+            } else if (name.startsWith("execute")) {
+                stats.statementExecuted();
+            }
+        }
+        if (result instanceof ResultSet resultSet && (name.equals("executeQuery") || name.equals("getResultSet"))) {
+            return proxy(ResultSet.class, resultSet, QueryCountingDataSource::onResultSetCall);
+        }
+        return result;
+    }
+    
+    private static Object onResultSetCall(Method method, Object result) {
+        if (method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+            QueryStats stats = QueryCountHolder.current();
+            if (stats != null) {
+                stats.rowFetched();
+            }
+        }
+        return result;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, ResultInterceptor interceptor) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            // Identidade do proxy, não do objeto envolvido (ex.: comparação de conexões)
+            if (method.getName().equals("equals") && method.getParameterCount() == 1) {
+                return proxy == args[0];
+            }
+            if (method.getName().equals("hashCode") && method.getParameterCount() == 0) {
+                return System.identityHashCode(proxy);
+            }
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+            return interceptor.afterCall(method, result);
+        };
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+    
+    @FunctionalInterface
+    private interface ResultInterceptor {
+        Object afterCall(Method method, Object result);
+    }
+}
@@ -0,0 +1,64 @@
+package com.ecommerce.monitoring;
+
+/**
+ * Contadores de SQL de uma única requisição (ou de um trecho medido em teste).
+ * Usado apenas pela thread dona do escopo, por isso não é sincronizado.
+ */
+public class QueryStats {
+    
+    private final int maxQueries;
+    private final boolean failOnExceed;
+    
+    private long queries;
+    private long batches;
+    private long rows;
+    
+    public QueryStats(int maxQueries, boolean failOnExceed) {
+        this.maxQueries = maxQueries;
+        this.failOnExceed = failOnExceed;
+    }
+    
+    void statementExecuted() {
+        queries++;
+        if (failOnExceed && isOverThreshold()) {
+            throw new QueryThresholdExceededException(queries, maxQueries);
+        }
+    }
+    
+    void batchExecuted() {
+        batches++;
+        statementExecuted();
+    }
+    
+    void rowFetched() {
+        rows++;
+    }
+    
+    public boolean isOverThreshold() {
+        return maxQueries > 0 && queries > maxQueries;
+    }
+    
+    /**
+     * Total de comandos enviados ao banco; um executeBatch conta como um comando.
+     */
+    public long getQueries() {
+        return queries;
+    }
+    
+    public long getBatches() {
+        return batches;
+    }
+    
+    public long getRows() {
+        return rows;
+    }
+    
+    public int getMaxQueries() {
+        return maxQueries;
+    }
+    
+    @Override
+    public String toString() {
+        return "queries=" + queries + ", batches=" + batches + ", rows=" + rows;
+    }
+}
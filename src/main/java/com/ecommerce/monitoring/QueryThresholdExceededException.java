@@ -0,0 +1,8 @@
+package com.ecommerce.monitoring;
+
+public class QueryThresholdExceededException extends RuntimeException {
+    
+    public QueryThresholdExceededException(long queries, int maxQueries) {
+        super("Request exceeded the SQL query threshold: " + queries + " > " + maxQueries + " (possible N+1)");
+    }
+}
@@ -0,0 +1,23 @@
+package com.ecommerce.repository;
+
+import com.ecommerce.dto.report.OrderExportView;
+import com.ecommerce.dto.report.UserTicketExportView;
+
+import java.util.stream.Stream;
+
+public interface OrderExportRepository {
+
+    // Linhas buscadas por ida ao banco nas exportações quando o driver não faz streaming linha a linha
+    int EXPORT_FETCH_SIZE = 500;
+
+    /**
+     * Todos os pedidos com o e-mail do usuário, em ordem de id. O Stream deve ser consumido
+     * e fechado dentro da transação; no MySQL a conexão fica ocupada pelo resultado até lá.
+     */
+    Stream<OrderExportView> streamOrdersForExport();
+
+    /**
+     * Pedidos pagos e valor total por usuário, em ordem de e-mail. Mesmas regras de consumo do streamOrdersForExport.
+     */
+    Stream<UserTicketExportView> streamUserTicketsForExport();
+}
@@ -0,0 +1,63 @@
+package com.ecommerce.repository;
+
+import com.ecommerce.dto.report.OrderExportView;
+import com.ecommerce.dto.report.UserTicketExportView;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.jpa.HibernateHints;
+
+import java.util.stream.Stream;
+
+/**
+ * O streaming das exportações fica restrito a estas consultas, sem useCursorFetch na URL do pool:
+ * no MySQL o fetch size Integer.MIN_VALUE faz o Connector/J entregar o resultado linha a linha;
+ * nos demais bancos (H2 nos testes) vale o fetch size comum.
+ */
+public class OrderExportRepositoryImpl implements OrderExportRepository {
+
+    private static final String ORDERS_QUERY = """
+        SELECT new com.ecommerce.dto.report.OrderExportView(o.id, u.id, u.email, o.status, o.totalAmount, o.createdAt, o.updatedAt)
+        FROM Order o
+        JOIN o.user u
+        ORDER BY o.id
+        """;
+
+    private static final String USER_TICKETS_QUERY = """
+        SELECT new com.ecommerce.dto.report.UserTicketExportView(u.id, u.email, u.name, COUNT(o.id), SUM(o.totalAmount))
+        FROM Order o
+        JOIN o.user u
+        WHERE o.status = 'PAID'
+        GROUP BY u.id, u.email, u.name
+        ORDER BY u.email
+        """;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private Integer fetchSize;
+
+    @Override
+    public Stream<OrderExportView> streamOrdersForExport() {
+        return entityManager.createQuery(ORDERS_QUERY, OrderExportView.class)
+            .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize())
+            .getResultStream();
+    }
+
+    @Override
+    public Stream<UserTicketExportView> streamUserTicketsForExport() {
+        return entityManager.createQuery(USER_TICKETS_QUERY, UserTicketExportView.class)
+            .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize())
+            .getResultStream();
+    }
+
+    private int fetchSize() {
+        if (fetchSize == null) {
+            boolean mysql = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect() instanceof MySQLDialect;
+            fetchSize = mysql ? Integer.MIN_VALUE : EXPORT_FETCH_SIZE;
+        }
+        return fetchSize;
+    }
+}
@@ -1,56 +1,108 @@
 package com.ecommerce.repository;
 
+import com.ecommerce.dto.order.OrderItemView;
+import com.ecommerce.dto.order.OrderSummaryView;
+import com.ecommerce.dto.report.MonthlyRevenueDTO;
+import com.ecommerce.dto.report.UserAverageTicketDTO;
 import com.ecommerce.entity.Order;
 import com.ecommerce.enums.OrderStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface OrderRepository extends JpaRepository<Order, UUID> {
+public interface OrderRepository extends JpaRepository<Order, UUID>, OrderExportRepository {
+    
     @Query("SELECT o FROM Order o WHERE o.user.id = :userId ORDER BY o.createdAt DESC")
     Page<Order> findByUserId(UUID userId, Pageable pageable);
-
-    List<Order> findByStatusOrderByCreatedAtDesc(OrderStatus status);
     
+    // Leitura do histórico via projeção: não materializa entidades nem a descrição dos produtos
+    @Query(value = """
+        SELECT new com.ecommerce.dto.order.OrderSummaryView(o.id, o.status, o.totalAmount, o.createdAt, o.updatedAt)
+        FROM Order o
+        WHERE o.user.id = :userId
+        ORDER BY o.createdAt DESC
+        """,
+        countQuery = "SELECT COUNT(o) FROM Order o WHERE o.user.id = :userId")
+    Page<OrderSummaryView> findSummariesByUserId(@Param("userId") UUID userId, Pageable pageable);
+    
+    // Paginação keyset: usa o índice (user_id, created_at, id) sem OFFSET nem COUNT
     @Query("""
-        SELECT u.email, u.name, AVG(o.totalAmount) as avg_ticket
+        SELECT new com.ecommerce.dto.order.OrderSummaryView(o.id, o.status, o.totalAmount, o.createdAt, o.updatedAt)
         FROM Order o
-        JOIN o.user u
-        WHERE o.status = 'PAID'
-        GROUP BY u.id, u.email, u.name
-        ORDER BY avg_ticket DESC
+        WHERE o.user.id = :userId
+        ORDER BY o.createdAt DESC, o.id DESC
         """)
-    List<Object[]> findAverageTicketByUser();
+    List<OrderSummaryView> findFirstSummariesByUserId(@Param("userId") UUID userId, Limit limit);
     
     @Query("""
-        SELECT CASE 
-            WHEN SUM(o.totalAmount) IS NULL THEN 0 
-            ELSE SUM(o.totalAmount) 
-        END
+        SELECT new com.ecommerce.dto.order.OrderSummaryView(o.id, o.status, o.totalAmount, o.createdAt, o.updatedAt)
         FROM Order o
+        WHERE o.user.id = :userId
+        AND (o.createdAt < :createdAt OR (o.createdAt = :createdAt AND o.id < :id))
+        ORDER BY o.createdAt DESC, o.id DESC
+        """)
+    List<OrderSummaryView> findSummariesByUserIdAfter(@Param("userId") UUID userId,
+                                                     @Param("createdAt") LocalDateTime createdAt,
+                                                     @Param("id") UUID id,
+                                                     Limit limit);
+    
+    long countByUserId(UUID userId);
+    
+    // Só order_items: o nome do produto vem da cópia gravada no item e o id da FK, sem JOIN em products
+    @Query("""
+        SELECT new com.ecommerce.dto.order.OrderItemView(i.order.id, i.id, i.product.id, i.productName, i.quantity, i.unitPrice, i.totalPrice)
+        FROM OrderItem i
+        WHERE i.order.id IN :orderIds
+        ORDER BY i.order.id, i.id
+        """)
+    List<OrderItemView> findItemViewsByOrderIdIn(@Param("orderIds") Collection<UUID> orderIds);
+    
+    // Os itens bastam para o detalhe (productName e a FK product_id); o produto fica como proxy não inicializado
+    @EntityGraph(attributePaths = {"items"})
+    @Query("SELECT o FROM Order o WHERE o.id = :id")
+    Optional<Order> findWithItemsById(@Param("id") UUID id);
+
+    List<Order> findByStatusOrderByCreatedAtDesc(OrderStatus status);
+    
+    // Ticket médio calculado em DECIMAL no banco; e-mail desempata para a paginação ser estável
+    @Query(value = """
+        SELECT new com.ecommerce.dto.report.UserAverageTicketDTO(u.email, u.name, ROUND(SUM(o.totalAmount) / COUNT(o.id), 2))
+        FROM Order o
+        JOIN o.user u
         WHERE o.status = 'PAID'
-        AND o.createdAt >= :startDate
-        AND o.createdAt <= :endDate
+        GROUP BY u.id, u.email, u.name
+        HAVING COUNT(o.id) >= :minOrders
+        ORDER BY ROUND(SUM(o.totalAmount) / COUNT(o.id), 2) DESC, u.email
+        """,
+        countQuery = """
+        SELECT COUNT(u)
+        FROM User u
+        WHERE (SELECT COUNT(o.id) FROM Order o WHERE o.user = u AND o.status = 'PAID') >= :minOrders
         """)
-    BigDecimal findTotalRevenueByPeriod(@Param("startDate") LocalDateTime startDate, 
-                                      @Param("endDate") LocalDateTime endDate);
+    Page<UserAverageTicketDTO> findAverageTicketsByUser(@Param("minOrders") long minOrders, Pageable pageable);
     
+    // Uma única varredura de [startDate, endDate): soma e contagem agrupadas por mês
     @Query("""
-        SELECT COUNT(o.id)
+        SELECT new com.ecommerce.dto.report.MonthlyRevenueDTO(YEAR(o.createdAt), MONTH(o.createdAt), SUM(o.totalAmount), COUNT(o.id))
         FROM Order o
         WHERE o.status = 'PAID'
         AND o.createdAt >= :startDate
-        AND o.createdAt <= :endDate
+        AND o.createdAt < :endDate
+        GROUP BY YEAR(o.createdAt), MONTH(o.createdAt)
+        ORDER BY YEAR(o.createdAt), MONTH(o.createdAt)
         """)
-    Long countPaidOrdersByPeriod(@Param("startDate") LocalDateTime startDate, 
-                                @Param("endDate") LocalDateTime endDate);
+    List<MonthlyRevenueDTO> findMonthlyRevenueBetween(@Param("startDate") LocalDateTime startDate,
+                                                      @Param("endDate") LocalDateTime endDate);
 }
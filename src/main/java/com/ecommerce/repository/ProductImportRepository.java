@@ -0,0 +1,64 @@
+package com.ecommerce.repository;
+
+import com.ecommerce.dto.product.ProductImportRowDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Escritas da importação em massa de produtos: um batch JDBC de INSERTs e outro de UPDATEs
+ * por lote, sem passar pelo persistence context. Com rewriteBatchedStatements o MySQL
+ * recebe os INSERTs como um único comando multi-valores.
+ */
+@Repository
+public class ProductImportRepository {
+
+    private static final String INSERT_SQL = """
+        INSERT INTO products (id, name, description, price, category, stock_quantity, version, created_at, updated_at)
+        VALUES (?, ?, ?, ?, ?, ?, 0, ?, ?)
+        """;
+
+    // version + 1: edições otimistas concorrentes do mesmo produto falham em vez de sobrescrever a importação
+    private static final String UPDATE_SQL = """
+        UPDATE products SET name = ?, description = ?, price = ?, category = ?, stock_quantity = ?,
+            version = version + 1, updated_at = ?
+        WHERE id = ?
+        """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Insere as linhas com os ids já atribuídos pelo chamador.
+     */
+    public void insertAll(List<ProductImportRowDTO> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> batchArgs = new ArrayList<>(rows.size());
+        for (ProductImportRowDTO row : rows) {
+            batchArgs.add(new Object[] { UuidBinary.toBytes(row.getId()), row.getName(), row.getDescription(),
+                row.getPrice(), row.getCategory(), row.getStockQuantity(), now, now });
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, batchArgs);
+    }
+
+    public void updateAll(List<ProductImportRowDTO> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> batchArgs = new ArrayList<>(rows.size());
+        for (ProductImportRowDTO row : rows) {
+            batchArgs.add(new Object[] { row.getName(), row.getDescription(), row.getPrice(), row.getCategory(),
+                row.getStockQuantity(), now, UuidBinary.toBytes(row.getId()) });
+        }
+        jdbcTemplate.batchUpdate(UPDATE_SQL, batchArgs);
+    }
+}
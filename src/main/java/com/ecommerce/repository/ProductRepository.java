@@ -1,6 +1,7 @@
 package com.ecommerce.repository;
 
 import com.ecommerce.entity.Product;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -8,11 +9,12 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, UUID> {
+public interface ProductRepository extends JpaRepository<Product, UUID>, ProductStockRepository {
     Page<Product> findByNameContainingIgnoreCase(String name, Pageable pageable);
     Page<Product> findByCategory(String category, Pageable pageable);
     
@@ -22,6 +24,25 @@ public interface ProductRepository extends JpaRepository<Product, UUID> {
     @Query("SELECT p FROM Product p WHERE p.stockQuantity > 0")
     List<Product> findAvailableProducts();
     
+    @Query("SELECT p FROM Product p ORDER BY p.id")
+    List<Product> findFirstOrderById(Limit limit);
+    
+    @Query("SELECT p FROM Product p WHERE p.id > :after ORDER BY p.id")
+    List<Product> findAfterOrderById(@Param("after") UUID after, Limit limit);
+    
+    @Query(value = """
+        SELECT p.id FROM products p
+        WHERE MATCH(p.name, p.description, p.category) AGAINST (:query IN BOOLEAN MODE)
+        ORDER BY MATCH(p.name, p.description, p.category) AGAINST (:query IN BOOLEAN MODE) DESC, p.id
+        """,
+        countQuery = "SELECT COUNT(*) FROM products p WHERE MATCH(p.name, p.description, p.category) AGAINST (:query IN BOOLEAN MODE)",
+        nativeQuery = true)
+    Page<byte[]> searchIdsByFullText(@Param("query") String query, Pageable pageable);
+    
     @Query("SELECT p FROM Product p WHERE p.id IN :ids")
     List<Product> findByIdIn(@Param("ids") List<UUID> ids);
+    
+    // Só os ids: a importação em massa decide entre INSERT e UPDATE sem carregar entidades
+    @Query("SELECT p.id FROM Product p WHERE p.id IN :ids")
+    List<UUID> findExistingIds(@Param("ids") Collection<UUID> ids);
 }
@@ -0,0 +1,21 @@
+package com.ecommerce.repository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+public interface ProductStockRepository {
+
+    /**
+     * Decrementa o estoque de todos os produtos em um único batch JDBC.
+     * Cada linha só é alterada se houver estoque suficiente, então a operação
+     * é segura sob concorrência sem precisar ler o produto antes. A versão do
+     * produto também é incrementada para invalidar edições otimistas concorrentes.
+     * Se algum produto não tiver estoque suficiente, as baixas já aplicadas aos demais
+     * são desfeitas antes de retornar: nenhum estoque muda e a transação pode ser confirmada.
+     *
+     * @param quantities quantidade a reservar por produto
+     * @return ids dos produtos que não tinham estoque suficiente (vazio em caso de sucesso)
+     */
+    List<UUID> decrementStock(Map<UUID, Integer> quantities);
+}
@@ -0,0 +1,49 @@
+package com.ecommerce.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+public class ProductStockRepositoryImpl implements ProductStockRepository {
+
+    private static final String DECREMENT_STOCK_SQL =
+        "UPDATE products SET stock_quantity = stock_quantity - ?, version = version + 1 WHERE id = ? AND stock_quantity >= ?";
+
+    private static final String RESTORE_STOCK_SQL =
+        "UPDATE products SET stock_quantity = stock_quantity + ?, version = version + 1 WHERE id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<UUID> decrementStock(Map<UUID, Integer> quantities) {
+        List<UUID> productIds = new ArrayList<>(quantities.keySet());
+        List<Object[]> batchArgs = new ArrayList<>(productIds.size());
+        for (UUID productId : productIds) {
+            Integer quantity = quantities.get(productId);
+            batchArgs.add(new Object[] { quantity, UuidBinary.toBytes(productId), quantity });
+        }
+
+        int[] updatedRows = jdbcTemplate.batchUpdate(DECREMENT_STOCK_SQL, batchArgs);
+
+        List<UUID> insufficient = new ArrayList<>();
+        List<Object[]> restoreArgs = new ArrayList<>();
+        for (int i = 0; i < updatedRows.length; i++) {
+            UUID productId = productIds.get(i);
+            if (updatedRows[i] == 0) {
+                insufficient.add(productId);
+            } else {
+                restoreArgs.add(new Object[] { quantities.get(productId), UuidBinary.toBytes(productId) });
+            }
+        }
+        // Devolve as baixas aplicadas na mesma transação: o chamador cancela o pedido e confirma sem rollback
+        if (!insufficient.isEmpty() && !restoreArgs.isEmpty()) {
+            jdbcTemplate.batchUpdate(RESTORE_STOCK_SQL, restoreArgs);
+        }
+        return insufficient;
+    }
+}
@@ -0,0 +1,139 @@
+package com.ecommerce.repository;
+
+import com.ecommerce.dto.report.MonthlyRevenueDTO;
+import com.ecommerce.dto.report.TopUserDTO;
+import com.ecommerce.dto.report.UserAverageTicketDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Tabelas de agregados dos relatórios (user_order_stats e monthly_revenue, ver V4).
+ * As escritas usam a conexão da transação corrente, junto com a atualização do pedido.
+ */
+@Repository
+public class ReportAggregateRepository {
+
+    static final int REVENUE_SLOTS = 16;
+
+    private static final String UPSERT_USER_STATS_SQL = """
+        INSERT INTO user_order_stats (user_id, paid_order_count, paid_total) VALUES (?, 1, ?)
+        ON DUPLICATE KEY UPDATE paid_order_count = paid_order_count + 1, paid_total = paid_total + ?
+        """;
+
+    private static final String UPSERT_MONTHLY_REVENUE_SQL = """
+        INSERT INTO monthly_revenue (revenue_year, revenue_month, slot, paid_order_count, total_revenue) VALUES (?, ?, ?, 1, ?)
+        ON DUPLICATE KEY UPDATE paid_order_count = paid_order_count + 1, total_revenue = total_revenue + ?
+        """;
+
+    private static final String TOP_USERS_SQL = """
+        SELECT u.id, u.email, u.name, s.paid_order_count, s.paid_total
+        FROM user_order_stats s
+        JOIN users u ON u.id = s.user_id
+        WHERE u.role = 'USER'
+        ORDER BY s.paid_total DESC, u.email
+        LIMIT ?
+        """;
+
+    // Completa o ranking com usuários sem compras, como o LEFT JOIN do relatório original
+    private static final String USERS_WITHOUT_PURCHASES_SQL = """
+        SELECT u.id, u.email, u.name
+        FROM users u
+        WHERE u.role = 'USER'
+        AND NOT EXISTS (SELECT 1 FROM user_order_stats s WHERE s.user_id = u.id)
+        ORDER BY u.email
+        LIMIT ?
+        """;
+
+    private static final String AVERAGE_TICKETS_SQL = """
+        SELECT u.email, u.name, ROUND(s.paid_total / s.paid_order_count, 2) AS average_ticket
+        FROM user_order_stats s
+        JOIN users u ON u.id = s.user_id
+        WHERE s.paid_order_count >= ?
+        ORDER BY average_ticket DESC, u.email
+        LIMIT ? OFFSET ?
+        """;
+
+    private static final String COUNT_AVERAGE_TICKETS_SQL = """
+        SELECT COUNT(*) FROM user_order_stats WHERE paid_order_count >= ?
+        """;
+
+    // revenue_year BETWEEN usa o prefixo da PK; a segunda condição recorta os meses das pontas
+    private static final String MONTHLY_REVENUE_SQL = """
+        SELECT revenue_year, revenue_month, SUM(total_revenue), SUM(paid_order_count)
+        FROM monthly_revenue
+        WHERE revenue_year BETWEEN ? AND ?
+        AND revenue_year * 100 + revenue_month BETWEEN ? AND ?
+        GROUP BY revenue_year, revenue_month
+        ORDER BY revenue_year, revenue_month
+        """;
+
+    private static final String REBUILD_USER_STATS_SQL = """
+        INSERT INTO user_order_stats (user_id, paid_order_count, paid_total)
+        SELECT user_id, COUNT(*), SUM(total_amount)
+        FROM orders
+        WHERE status = 'PAID'
+        GROUP BY user_id
+        """;
+
+    private static final String REBUILD_MONTHLY_REVENUE_SQL = """
+        INSERT INTO monthly_revenue (revenue_year, revenue_month, slot, paid_order_count, total_revenue)
+        SELECT YEAR(created_at), MONTH(created_at), 0, COUNT(*), SUM(total_amount)
+        FROM orders
+        WHERE status = 'PAID'
+        GROUP BY YEAR(created_at), MONTH(created_at)
+        """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    public void recordPaidOrder(UUID userId, YearMonth month, BigDecimal amount) {
+        jdbcTemplate.update(UPSERT_USER_STATS_SQL, UuidBinary.toBytes(userId), amount, amount);
+        int slot = ThreadLocalRandom.current().nextInt(REVENUE_SLOTS);
+        jdbcTemplate.update(UPSERT_MONTHLY_REVENUE_SQL, month.getYear(), month.getMonthValue(), slot, amount, amount);
+    }
+
+    public List<TopUserDTO> findTopUsers(int limit) {
+        List<TopUserDTO> topUsers = new ArrayList<>(jdbcTemplate.query(TOP_USERS_SQL, (rs, rowNum) -> new TopUserDTO(
+            UuidBinary.fromBytes(rs.getBytes(1)), rs.getString(2), rs.getString(3), rs.getLong(4), rs.getBigDecimal(5)), limit));
+        if (topUsers.size() < limit) {
+            topUsers.addAll(jdbcTemplate.query(USERS_WITHOUT_PURCHASES_SQL, (rs, rowNum) -> new TopUserDTO(
+                UuidBinary.fromBytes(rs.getBytes(1)), rs.getString(2), rs.getString(3), 0L, BigDecimal.ZERO), limit - topUsers.size()));
+        }
+        return topUsers;
+    }
+
+    public List<UserAverageTicketDTO> findAverageTickets(long minOrders, long offset, int limit) {
+        return jdbcTemplate.query(AVERAGE_TICKETS_SQL, (rs, rowNum) -> new UserAverageTicketDTO(
+            rs.getString(1), rs.getString(2), rs.getBigDecimal(3)), minOrders, limit, offset);
+    }
+    
+    public long countAverageTickets(long minOrders) {
+        return jdbcTemplate.queryForObject(COUNT_AVERAGE_TICKETS_SQL, Long.class, minOrders);
+    }
+    
+    public List<MonthlyRevenueDTO> findMonthlyRevenueBetween(YearMonth from, YearMonth to) {
+        return jdbcTemplate.query(MONTHLY_REVENUE_SQL, (rs, rowNum) -> new MonthlyRevenueDTO(
+                rs.getInt(1), rs.getInt(2), rs.getBigDecimal(3), rs.getLong(4)),
+            from.getYear(), to.getYear(), from.getYear() * 100 + from.getMonthValue(), to.getYear() * 100 + to.getMonthValue());
+    }
+    
+    /**
+     * Recalcula os agregados a partir da tabela orders (ex.: após carga de dados fora do fluxo de pagamento).
+     */
+    @Transactional
+    public void rebuild() {
+        jdbcTemplate.update("DELETE FROM user_order_stats");
+        jdbcTemplate.update("DELETE FROM monthly_revenue");
+        jdbcTemplate.update(REBUILD_USER_STATS_SQL);
+        jdbcTemplate.update(REBUILD_MONTHLY_REVENUE_SQL);
+    }
+}
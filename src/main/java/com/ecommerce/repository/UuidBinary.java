@@ -0,0 +1,29 @@
+package com.ecommerce.repository;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+/**
+ * Conversão das chaves BINARY(16) (ver V6) nas consultas JDBC e nativas. A ordem dos bytes é a mesma
+ * do Hibernate e do UUID_TO_BIN/BIN_TO_UUID do MySQL sem swap.
+ */
+public final class UuidBinary {
+
+    private UuidBinary() {
+    }
+
+    public static byte[] toBytes(UUID uuid) {
+        return ByteBuffer.allocate(16)
+            .putLong(uuid.getMostSignificantBits())
+            .putLong(uuid.getLeastSignificantBits())
+            .array();
+    }
+
+    public static UUID fromBytes(byte[] bytes) {
+        if (bytes.length != 16) {
+            throw new IllegalArgumentException("Expected 16 bytes for a UUID, got " + bytes.length);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+}
@@ -0,0 +1,261 @@
+package com.ecommerce.search;
+
+import com.ecommerce.entity.Product;
+import com.ecommerce.repository.ProductRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice invertido em memória sobre nome, categoria e descrição dos produtos.
+ * Cada termo da consulta precisa casar com algum termo do produto (exato ou por
+ * prefixo); o score soma o peso do campo ponderado pelo IDF do termo.
+ */
+@Component
+@ConditionalOnProperty(name = "app.search.engine", havingValue = "memory", matchIfMissing = true)
+public class InMemoryProductSearchEngine implements ProductSearchEngine {
+    
+    private static final Logger log = LoggerFactory.getLogger(InMemoryProductSearchEngine.class);
+    
+    static final float NAME_WEIGHT = 3.0f;
+    static final float CATEGORY_WEIGHT = 2.0f;
+    static final float DESCRIPTION_WEIGHT = 1.0f;
+    // Casamento por prefixo vale menos que o termo completo
+    static final float PREFIX_FACTOR = 0.5f;
+    static final int MIN_PREFIX_LENGTH = 2;
+    
+    private static final int REBUILD_BATCH_SIZE = 500;
+    
+    // Trocados por inteiro no rebuild; leitura e escrita sempre sob o lock
+    private NavigableMap<String, Map<UUID, Float>> postings = new TreeMap<>();
+    private Map<UUID, Set<String>> documentTerms = new HashMap<>();
+    // Produtos alterados por index/remove enquanto um rebuild carrega o catálogo (null fora dele)
+    private Set<UUID> changedDuringRebuild;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Lock rebuildLock = new ReentrantLock();
+    
+    @Autowired
+    private ProductRepository productRepository;
+    
+    @Override
+    public Page<UUID> search(String query, Pageable pageable) {
+        List<String> queryTerms = SearchTokenizer.tokenize(query);
+        if (queryTerms.isEmpty()) {
+            return Page.empty(pageable);
+        }
+        
+        Map<UUID, Float> scores;
+        lock.readLock().lock();
+        try {
+            scores = score(queryTerms);
+        } finally {
+            lock.readLock().unlock();
+        }
+        
+        List<UUID> ranked = scores.entrySet().stream()
+            .sorted(Map.Entry.<UUID, Float>comparingByValue(Comparator.reverseOrder())
+                .thenComparing(Map.Entry.comparingByKey()))
+            .map(Map.Entry::getKey)
+            .toList();
+        
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(ranked, pageable, ranked.size());
+        }
+        int from = (int) Math.min(pageable.getOffset(), ranked.size());
+        int to = Math.min(from + pageable.getPageSize(), ranked.size());
+        return new PageImpl<>(ranked.subList(from, to), pageable, ranked.size());
+    }
+    
+    @Override
+    public void index(Product product) {
+        Map<String, Float> weights = termWeights(product);
+        
+        lock.writeLock().lock();
+        try {
+            removeDocument(postings, documentTerms, product.getId());
+            addDocument(postings, documentTerms, product.getId(), weights);
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.add(product.getId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    @Override
+    public void remove(UUID productId) {
+        lock.writeLock().lock();
+        try {
+            removeDocument(postings, documentTerms, productId);
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.add(productId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    /**
+     * Monta o novo índice fora do lock e o troca de uma vez: as buscas continuam respondendo
+     * com o índice anterior durante a carga, em vez de verem um índice vazio ou parcial.
+     */
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        rebuildLock.lock();
+        try {
+            lock.writeLock().lock();
+            try {
+                changedDuringRebuild = new HashSet<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            
+            NavigableMap<String, Map<UUID, Float>> newPostings = new TreeMap<>();
+            Map<UUID, Set<String>> newDocumentTerms = new HashMap<>();
+            Pageable pageable = PageRequest.of(0, REBUILD_BATCH_SIZE, Sort.by("id"));
+            Page<Product> page;
+            try {
+                do {
+                    page = productRepository.findAll(pageable);
+                    page.forEach(product -> addDocument(newPostings, newDocumentTerms, product.getId(), termWeights(product)));
+                    pageable = page.nextPageable();
+                } while (page.hasNext());
+            } catch (RuntimeException e) {
+                lock.writeLock().lock();
+                try {
+                    changedDuringRebuild = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                throw e;
+            }
+            
+            lock.writeLock().lock();
+            try {
+                // Alterações feitas durante a carga valem mais que a leitura do catálogo, que pode ser anterior a elas
+                for (UUID productId : changedDuringRebuild) {
+                    removeDocument(newPostings, newDocumentTerms, productId);
+                    Set<String> terms = documentTerms.get(productId);
+                    if (terms != null) {
+                        Map<String, Float> weights = new HashMap<>();
+                        terms.forEach(term -> weights.put(term, postings.get(term).get(productId)));
+                        addDocument(newPostings, newDocumentTerms, productId, weights);
+                    }
+                }
+                postings = newPostings;
+                documentTerms = newDocumentTerms;
+                changedDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            
+            log.info("Product search index rebuilt with {} products", page.getTotalElements());
+        } finally {
+            rebuildLock.unlock();
+        }
+    }
+    
+    private Map<UUID, Float> score(List<String> queryTerms) {
+        int documentCount = Math.max(1, documentTerms.size());
+        Map<UUID, Float> scores = null;
+        
+        for (String queryTerm : queryTerms) {
+            Map<UUID, Float> termScores = new HashMap<>();
+            accumulate(termScores, postings.get(queryTerm), documentCount, 1.0f);
+            if (queryTerm.length() >= MIN_PREFIX_LENGTH) {
+                for (Map.Entry<String, Map<UUID, Float>> entry
+                        : postings.subMap(queryTerm, false, queryTerm + Character.MAX_VALUE, false).entrySet()) {
+                    accumulate(termScores, entry.getValue(), documentCount, PREFIX_FACTOR);
+                }
+            }
+            
+            // Todos os termos da consulta precisam casar (AND)
+            if (scores == null) {
+                scores = termScores;
+            } else {
+                Map<UUID, Float> previous = scores;
+                scores = new HashMap<>();
+                for (Map.Entry<UUID, Float> entry : termScores.entrySet()) {
+                    Float score = previous.get(entry.getKey());
+                    if (score != null) {
+                        scores.put(entry.getKey(), score + entry.getValue());
+                    }
+                }
+            }
+            if (scores.isEmpty()) {
+                break;
+            }
+        }
+        return scores;
+    }
+    
+    private void accumulate(Map<UUID, Float> termScores, Map<UUID, Float> termPostings, int documentCount, float factor) {
+        if (termPostings == null || termPostings.isEmpty()) {
+            return;
+        }
+        float idf = (float) Math.log(1.0 + (double) documentCount / termPostings.size());
+        termPostings.forEach((productId, weight) -> termScores.merge(productId, weight * idf * factor, Float::sum));
+    }
+    
+    private Map<String, Float> termWeights(Product product) {
+        Map<String, Float> weights = new HashMap<>();
+        addTerms(weights, product.getName(), NAME_WEIGHT);
+        addTerms(weights, product.getCategory(), CATEGORY_WEIGHT);
+        addTerms(weights, product.getDescription(), DESCRIPTION_WEIGHT);
+        return weights;
+    }
+    
+    private void addTerms(Map<String, Float> weights, String text, float fieldWeight) {
+        for (String term : SearchTokenizer.tokenize(text)) {
+            weights.merge(term, fieldWeight, Float::sum);
+        }
+    }
+    
+    private static void addDocument(NavigableMap<String, Map<UUID, Float>> postings, Map<UUID, Set<String>> documentTerms,
+                                    UUID productId, Map<String, Float> weights) {
+        weights.forEach((term, weight) -> postings.computeIfAbsent(term, t -> new HashMap<>()).put(productId, weight));
+        documentTerms.put(productId, new HashSet<>(weights.keySet()));
+    }
+    
+    private static void removeDocument(NavigableMap<String, Map<UUID, Float>> postings, Map<UUID, Set<String>> documentTerms,
+                                       UUID productId) {
+        Set<String> terms = documentTerms.remove(productId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<UUID, Float> termPostings = postings.get(term);
+            if (termPostings != null) {
+                termPostings.remove(productId);
+                if (termPostings.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+}
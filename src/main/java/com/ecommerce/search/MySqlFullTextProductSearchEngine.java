@@ -0,0 +1,54 @@
+package com.ecommerce.search;
+
+import com.ecommerce.entity.Product;
+import com.ecommerce.repository.ProductRepository;
+import com.ecommerce.repository.UuidBinary;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Busca delegada ao índice FULLTEXT do MySQL (db/vendor/mysql). O próprio banco
+ * mantém o índice, então index/remove/rebuild não fazem nada.
+ */
+@Component
+@ConditionalOnProperty(name = "app.search.engine", havingValue = "mysql")
+public class MySqlFullTextProductSearchEngine implements ProductSearchEngine {
+    
+    @Autowired
+    private ProductRepository productRepository;
+    
+    @Override
+    public Page<UUID> search(String query, Pageable pageable) {
+        List<String> terms = SearchTokenizer.tokenize(query);
+        if (terms.isEmpty()) {
+            return Page.empty(pageable);
+        }
+        
+        // Boolean mode: todos os termos obrigatórios (+) e com casamento por prefixo (*)
+        String booleanQuery = terms.stream()
+            .map(term -> "+" + term + "*")
+            .collect(Collectors.joining(" "));
+        
+        return productRepository.searchIdsByFullText(booleanQuery, pageable)
+            .map(UuidBinary::fromBytes);
+    }
+    
+    @Override
+    public void index(Product product) {
+    }
+    
+    @Override
+    public void remove(UUID productId) {
+    }
+    
+    @Override
+    public void rebuild() {
+    }
+}
@@ -0,0 +1,28 @@
+package com.ecommerce.search;
+
+import com.ecommerce.entity.Product;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.util.UUID;
+
+/**
+ * Backend de busca de produtos. A implementação é escolhida por app.search.engine
+ * (memory ou mysql) e o ProductService a mantém atualizada em create/update/delete.
+ */
+public interface ProductSearchEngine {
+    
+    /**
+     * Retorna os ids dos produtos que casam com a consulta, ordenados por relevância.
+     */
+    Page<UUID> search(String query, Pageable pageable);
+    
+    void index(Product product);
+    
+    void remove(UUID productId);
+    
+    /**
+     * Reconstrói o índice a partir do banco. Backends que delegam ao banco não fazem nada.
+     */
+    void rebuild();
+}
@@ -0,0 +1,61 @@
+package com.ecommerce.security;
+
+import com.ecommerce.entity.User;
+import com.ecommerce.enums.UserRole;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Principal imutável guardado no cache de principals e no SecurityContext. Carrega só o necessário
+ * para autenticar e identificar o usuário; a entidade User nunca sai da transação que a leu.
+ */
+public final class UserPrincipal implements UserDetails {
+
+    private final UUID id;
+    private final String email;
+    private final String password;
+    private final UserRole role;
+
+    public UserPrincipal(UUID id, String email, String password, UserRole role) {
+        this.id = id;
+        this.email = email;
+        this.password = password;
+        this.role = role;
+    }
+
+    public static UserPrincipal from(User user) {
+        return new UserPrincipal(user.getId(), user.getEmail(), user.getPassword(), user.getRole());
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public UserRole getRole() {
+        return role;
+    }
+
+    @Override
+    public String getPassword() {
+        return password;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+}
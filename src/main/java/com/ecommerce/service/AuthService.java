@@ -1,12 +1,18 @@
 package com.ecommerce.service;
 
+import com.ecommerce.config.CacheConfig;
 import com.ecommerce.dto.auth.AuthRequestDTO;
 import com.ecommerce.dto.auth.AuthResponseDTO;
 import com.ecommerce.dto.auth.RegisterRequestDTO;
 import com.ecommerce.entity.User;
 import com.ecommerce.repository.UserRepository;
 import com.ecommerce.security.JwtTokenProvider;
+import com.ecommerce.security.UserPrincipal;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -21,8 +27,11 @@ import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @Transactional
+@Timed("ecommerce.service")
 public class AuthService implements UserDetailsService {
     
+    private static final Logger log = LoggerFactory.getLogger(AuthService.class);
+    
     @Autowired
     private UserRepository userRepository;
     
@@ -38,27 +47,27 @@ public class AuthService implements UserDetailsService {
     
     public AuthResponseDTO login(AuthRequestDTO request) {
         try {
-            System.out.println("Tentando autenticar usuário: " + request.getEmail());
+            log.debug("Tentando autenticar usuário: {}", request.getEmail());
             
             Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(request.getEmail(), request.getPassword())
             );
             
-            System.out.println("Autenticação bem-sucedida para: " + request.getEmail());
+            log.debug("Autenticação bem-sucedida para: {}", request.getEmail());
             
             SecurityContextHolder.getContext().setAuthentication(authentication);
             String jwt = tokenProvider.generateToken(authentication);
             
-            System.out.println("Token JWT gerado com sucesso");
+            log.debug("Token JWT gerado com sucesso");
             
             User user = userRepository.findByEmail(request.getEmail())
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
             
-            System.out.println("Usuário encontrado: " + user.getName());
+            log.debug("Usuário encontrado: {}", user.getName());
             
             return new AuthResponseDTO(jwt, user.getId(), user.getEmail(), user.getName(), user.getRole());
         } catch (Exception e) {
-            System.err.println("Erro durante login: " + e.getMessage());
+            log.warn("Erro durante login de {}: {}", request.getEmail(), e.getMessage());
             throw e;
         }
     }
@@ -85,9 +94,14 @@ public class AuthService implements UserDetailsService {
         return new AuthResponseDTO(jwt, user.getId(), user.getEmail(), user.getName(), user.getRole());
     }
     
+    // Chamado pelo JwtAuthenticationFilter em toda requisição; o cache evita um SELECT por chamada.
+    // Guarda um UserPrincipal imutável, nunca a entidade gerenciada pelo JPA
     @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.PRINCIPALS, key = "#email")
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
         return userRepository.findByEmail(email)
+            .map(UserPrincipal::from)
             .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
     }
 }
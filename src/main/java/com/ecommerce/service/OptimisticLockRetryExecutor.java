@@ -0,0 +1,68 @@
+package com.ecommerce.service;
+
+import com.ecommerce.config.OptimisticLockRetryConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Reexecuta operações transacionais que falharam por conflito de versão (@Version).
+ * Cada tentativa deve abrir sua própria transação, por isso a operação precisa
+ * ser chamada através do proxy do serviço e nunca de dentro de uma transação ativa.
+ */
+@Component
+public class OptimisticLockRetryExecutor {
+    
+    private static final Logger log = LoggerFactory.getLogger(OptimisticLockRetryExecutor.class);
+    
+    private final OptimisticLockRetryConfig config;
+    private final MeterRegistry meterRegistry;
+    
+    public OptimisticLockRetryExecutor(OptimisticLockRetryConfig config, MeterRegistry meterRegistry) {
+        this.config = config;
+        this.meterRegistry = meterRegistry;
+    }
+    
+    public <T> T execute(String operation, Supplier<T> action) {
+        int maxAttempts = Math.max(1, config.getMaxAttempts());
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return action.get();
+            } catch (OptimisticLockingFailureException e) {
+                counter("ecommerce.optimistic_lock.conflicts", operation).increment();
+                if (attempt >= maxAttempts) {
+                    counter("ecommerce.optimistic_lock.exhausted", operation).increment();
+                    log.warn("Optimistic lock conflict on {} after {} attempts", operation, attempt);
+                    throw e;
+                }
+                counter("ecommerce.optimistic_lock.retries", operation).increment();
+                backoff(attempt);
+            }
+        }
+    }
+    
+    // Full jitter: espera aleatória entre 0 e o limite exponencial da tentativa
+    private void backoff(int attempt) {
+        double ceiling = config.getInitialBackoffMs() * Math.pow(config.getMultiplier(), attempt - 1);
+        long boundMs = (long) Math.min(config.getMaxBackoffMs(), ceiling);
+        if (boundMs <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(boundMs + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to retry", e);
+        }
+    }
+    
+    private Counter counter(String name, String operation) {
+        return meterRegistry.counter(name, "operation", operation);
+    }
+}
@@ -0,0 +1,44 @@
+package com.ecommerce.service;
+
+import com.ecommerce.cache.AfterCommit;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * Contadores de negócio do ciclo de vida dos pedidos. Todos só contam após o commit
+ * da transação que grava a mudança (o cancelamento por estoque é confirmado mesmo com a exceção do payOrder).
+ */
+@Component
+public class OrderMetrics {
+    
+    private final Counter created;
+    private final Counter paid;
+    private final Counter cancelledByStock;
+    
+    public OrderMetrics(MeterRegistry meterRegistry) {
+        // "placed" e não "created": o sufixo _created é reservado no formato do Prometheus
+        this.created = Counter.builder("ecommerce.orders.placed")
+            .description("Pedidos criados")
+            .register(meterRegistry);
+        this.paid = Counter.builder("ecommerce.orders.paid")
+            .description("Pedidos pagos")
+            .register(meterRegistry);
+        this.cancelledByStock = Counter.builder("ecommerce.orders.cancelled")
+            .description("Pedidos cancelados no pagamento")
+            .tag("reason", "insufficient_stock")
+            .register(meterRegistry);
+    }
+    
+    public void orderCreated() {
+        AfterCommit.run(created::increment);
+    }
+    
+    public void orderPaid() {
+        AfterCommit.run(paid::increment);
+    }
+    
+    public void orderCancelledByStock() {
+        AfterCommit.run(cancelledByStock::increment);
+    }
+}
@@ -1,24 +1,37 @@
 package com.ecommerce.service;
 
 import com.ecommerce.dto.order.OrderRequestDTO;
+import com.ecommerce.cache.ProductCache;
+import com.ecommerce.dto.common.CursorPageDTO;
+import com.ecommerce.dto.order.OrderItemView;
 import com.ecommerce.dto.order.OrderResponseDTO;
+import com.ecommerce.dto.order.OrderSummaryView;
 import com.ecommerce.entity.Order;
 import com.ecommerce.entity.OrderItem;
 import com.ecommerce.entity.Product;
 import com.ecommerce.entity.User;
 import com.ecommerce.enums.OrderStatus;
+import com.ecommerce.exception.InsufficientStockException;
 import com.ecommerce.repository.OrderRepository;
 import com.ecommerce.repository.ProductRepository;
+import com.ecommerce.repository.ReportAggregateRepository;
 import com.ecommerce.repository.UserRepository;
+import com.ecommerce.security.UserPrincipal;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -26,6 +39,7 @@ import java.util.stream.Collectors;
 
 @Service
 @Transactional
+@Timed("ecommerce.service")
 public class OrderService {
     
     @Autowired
@@ -37,10 +51,17 @@ public class OrderService {
     @Autowired
     private UserRepository userRepository;
     
+    @Autowired
+    private ProductCache productCache;
+    
+    @Autowired
+    private OrderMetrics orderMetrics;
+    
+    @Autowired
+    private ReportAggregateRepository reportAggregateRepository;
+    
     public OrderResponseDTO createOrder(OrderRequestDTO request) {
-        String userEmail = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByEmail(userEmail)
-            .orElseThrow(() -> new RuntimeException("User not found"));
+        User user = currentUser();
         
         // Validar produtos e estoque
         List<UUID> productIds = request.getItems().stream()
@@ -77,6 +98,7 @@ public class OrderService {
             OrderItem orderItem = new OrderItem();
             orderItem.setOrder(order);
             orderItem.setProduct(product);
+            orderItem.setProductName(product.getName());
             orderItem.setQuantity(itemRequest.getQuantity());
             orderItem.setUnitPrice(product.getPrice());
             orderItem.setTotalPrice(product.getPrice().multiply(BigDecimal.valueOf(itemRequest.getQuantity())));
@@ -89,16 +111,16 @@ public class OrderService {
         order.setTotalAmount(totalAmount);
         
         order = orderRepository.save(order);
+        orderMetrics.orderCreated();
         
         return mapToResponseDTO(order);
     }
     
+    @Transactional(noRollbackFor = InsufficientStockException.class)
     public OrderResponseDTO payOrder(UUID orderId) {
-        String userEmail = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByEmail(userEmail)
-            .orElseThrow(() -> new RuntimeException("User not found"));
+        User user = currentUser();
         
-        Order order = orderRepository.findById(orderId)
+        Order order = orderRepository.findWithItemsById(orderId)
             .orElseThrow(() -> new RuntimeException("Order not found"));
         
         if (!order.getUser().getId().equals(user.getId())) {
@@ -109,36 +131,42 @@ public class OrderService {
             throw new RuntimeException("Order is not pending");
         }
         
-        // Verificar estoque novamente
+        // Reservar estoque de forma atômica: um único batch de UPDATEs condicionais por pedido
+        Map<UUID, Integer> quantities = new LinkedHashMap<>();
         for (OrderItem item : order.getItems()) {
-            Product product = item.getProduct();
-            if (product.getStockQuantity() < item.getQuantity()) {
-                order.setStatus(OrderStatus.CANCELLED);
-                orderRepository.save(order);
-                throw new RuntimeException("Insufficient stock for product: " + product.getName() + ". Order cancelled.");
-            }
+            quantities.merge(item.getProduct().getId(), item.getQuantity(), Integer::sum);
         }
         
-        // Atualizar estoque
-        for (OrderItem item : order.getItems()) {
-            Product product = item.getProduct();
-            product.setStockQuantity(product.getStockQuantity() - item.getQuantity());
-            productRepository.save(product);
+        List<UUID> insufficient = productRepository.decrementStock(quantities);
+        if (!insufficient.isEmpty()) {
+            String productName = order.getItems().stream()
+                .filter(item -> item.getProduct().getId().equals(insufficient.get(0)))
+                .map(OrderItem::getProductName)
+                .findFirst()
+                .orElseThrow();
+            // decrementStock já devolveu as baixas aplicadas: o cancelamento é confirmado nesta mesma transação
+            // (noRollbackFor), sem pedir uma segunda conexão ao pool enquanto esta segura os locks do estoque
+            order.setStatus(OrderStatus.CANCELLED);
+            orderRepository.save(order);
+            orderMetrics.orderCancelledByStock();
+            throw new InsufficientStockException(productName);
         }
+        productCache.stockDecremented(quantities);
         
         order.setStatus(OrderStatus.PAID);
         order = orderRepository.save(order);
+        // Agregados dos relatórios na mesma transação: revertidos junto se o pagamento falhar
+        reportAggregateRepository.recordPaidOrder(user.getId(), YearMonth.from(order.getCreatedAt()), order.getTotalAmount());
+        orderMetrics.orderPaid();
         
         return mapToResponseDTO(order);
     }
     
     @Transactional(readOnly = true)
     public OrderResponseDTO getOrder(UUID orderId) {
-        String userEmail = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByEmail(userEmail)
-            .orElseThrow(() -> new RuntimeException("User not found"));
+        User user = currentUser();
         
-        Order order = orderRepository.findById(orderId)
+        Order order = orderRepository.findWithItemsById(orderId)
             .orElseThrow(() -> new RuntimeException("Order not found"));
         
         if (!order.getUser().getId().equals(user.getId())) {
@@ -150,15 +178,74 @@ public class OrderService {
     
     @Transactional(readOnly = true)
     public Page<OrderResponseDTO> getUserOrders(Pageable pageable) {
-        String userEmail = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByEmail(userEmail)
-            .orElseThrow(() -> new RuntimeException("User not found"));
+        User user = currentUser();
+        
+        // Duas consultas por página, ambas projetadas direto em DTOs fora do persistence context
+        Page<OrderSummaryView> summaries = orderRepository.findSummariesByUserId(user.getId(), pageable);
+        if (summaries.isEmpty()) {
+            return summaries.map(summary -> mapToResponseDTO(summary, List.of()));
+        }
+        
+        List<UUID> orderIds = summaries.getContent().stream()
+            .map(OrderSummaryView::id)
+            .collect(Collectors.toList());
+        Map<UUID, List<OrderItemView>> itemsByOrder = orderRepository.findItemViewsByOrderIdIn(orderIds).stream()
+            .collect(Collectors.groupingBy(OrderItemView::orderId));
+        
+        return summaries.map(summary -> mapToResponseDTO(summary, itemsByOrder.getOrDefault(summary.id(), List.of())));
+    }
+    
+    @Transactional(readOnly = true)
+    public CursorPageDTO<OrderResponseDTO> getUserOrdersAfter(String cursor, int size, boolean includeTotal) {
+        User user = currentUser();
+        
+        int pageSize = CursorCodec.normalizeSize(size);
+        // Busca um registro a mais para saber se existe próxima página sem precisar de COUNT
+        Limit limit = Limit.of(pageSize + 1);
+        List<OrderSummaryView> summaries;
+        if (cursor == null || cursor.isBlank()) {
+            summaries = orderRepository.findFirstSummariesByUserId(user.getId(), limit);
+        } else {
+            String[] position = CursorCodec.decode(cursor, 2);
+            summaries = orderRepository.findSummariesByUserIdAfter(user.getId(),
+                LocalDateTime.parse(position[0]), UUID.fromString(position[1]), limit);
+        }
         
-        return orderRepository.findByUserId(user.getId(), pageable)
-            .map(this::mapToResponseDTO);
+        boolean hasNext = summaries.size() > pageSize;
+        if (hasNext) {
+            summaries = summaries.subList(0, pageSize);
+        }
+        
+        Map<UUID, List<OrderItemView>> itemsByOrder = summaries.isEmpty() ? Map.of() :
+            orderRepository.findItemViewsByOrderIdIn(summaries.stream().map(OrderSummaryView::id).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.groupingBy(OrderItemView::orderId));
+        
+        List<OrderResponseDTO> content = summaries.stream()
+            .map(summary -> mapToResponseDTO(summary, itemsByOrder.getOrDefault(summary.id(), List.of())))
+            .collect(Collectors.toList());
+        
+        String nextCursor = null;
+        if (hasNext) {
+            OrderSummaryView last = summaries.get(summaries.size() - 1);
+            nextCursor = CursorCodec.encode(last.createdAt().toString(), last.id().toString());
+        }
+        Long total = includeTotal ? orderRepository.countByUserId(user.getId()) : null;
+        
+        return new CursorPageDTO<>(content, nextCursor, hasNext, pageSize, total);
+    }
+    
+    // O filtro JWT já resolveu o principal (via cache de principals): o id basta para uma referência, sem SELECT
+    private User currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication.getPrincipal() instanceof UserPrincipal principal) {
+            return userRepository.getReferenceById(principal.getId());
+        }
+        return userRepository.findByEmail(authentication.getName())
+            .orElseThrow(() -> new RuntimeException("User not found"));
     }
     
-    private OrderResponseDTO mapToResponseDTO(Order order) {
+    OrderResponseDTO mapToResponseDTO(Order order) {
         OrderResponseDTO dto = new OrderResponseDTO();
         dto.setId(order.getId());
         dto.setStatus(order.getStatus());
@@ -171,7 +258,7 @@ public class OrderService {
                 OrderResponseDTO.OrderItemResponseDTO itemDTO = new OrderResponseDTO.OrderItemResponseDTO();
                 itemDTO.setId(item.getId());
                 itemDTO.setProductId(item.getProduct().getId());
-                itemDTO.setProductName(item.getProduct().getName());
+                itemDTO.setProductName(item.getProductName());
                 itemDTO.setQuantity(item.getQuantity());
                 itemDTO.setUnitPrice(item.getUnitPrice());
                 itemDTO.setTotalPrice(item.getTotalPrice());
@@ -182,4 +269,29 @@ public class OrderService {
         dto.setItems(itemDTOs);
         return dto;
     }
+    
+    OrderResponseDTO mapToResponseDTO(OrderSummaryView summary, List<OrderItemView> items) {
+        OrderResponseDTO dto = new OrderResponseDTO();
+        dto.setId(summary.id());
+        dto.setStatus(summary.status());
+        dto.setTotalAmount(summary.totalAmount());
+        dto.setCreatedAt(summary.createdAt());
+        dto.setUpdatedAt(summary.updatedAt());
+        
+        List<OrderResponseDTO.OrderItemResponseDTO> itemDTOs = items.stream()
+            .map(item -> {
+                OrderResponseDTO.OrderItemResponseDTO itemDTO = new OrderResponseDTO.OrderItemResponseDTO();
+                itemDTO.setId(item.id());
+                itemDTO.setProductId(item.productId());
+                itemDTO.setProductName(item.productName());
+                itemDTO.setQuantity(item.quantity());
+                itemDTO.setUnitPrice(item.unitPrice());
+                itemDTO.setTotalPrice(item.totalPrice());
+                return itemDTO;
+            })
+            .collect(Collectors.toList());
+        
+        dto.setItems(itemDTOs);
+        return dto;
+    }
 }
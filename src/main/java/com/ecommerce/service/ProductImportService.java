@@ -0,0 +1,324 @@
+package com.ecommerce.service;
+
+import com.ecommerce.cache.ProductCache;
+import com.ecommerce.config.ProductImportConfig;
+import com.ecommerce.dto.product.ProductImportResultDTO;
+import com.ecommerce.dto.product.ProductImportRowDTO;
+import com.ecommerce.entity.Product;
+import com.ecommerce.entity.UuidV7Generator;
+import com.ecommerce.enums.ExportFormat;
+import com.ecommerce.repository.ProductImportRepository;
+import com.ecommerce.repository.ProductRepository;
+import com.ecommerce.search.ProductSearchEngine;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Importação em massa do catálogo (POST /api/products/bulk). O corpo é lido linha a linha e
+ * gravado em lotes de app.products.import.batch-size, cada um em sua própria transação:
+ * a memória não depende do tamanho do arquivo e um lote com erro não desfaz os anteriores.
+ * O índice de busca recebe cada lote confirmado e os caches são invalidados uma única vez, no fim.
+ */
+@Service
+@Timed("ecommerce.service")
+public class ProductImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductImportService.class);
+
+    private static final List<String> CSV_COLUMNS = List.of("id", "name", "description", "price", "category", "stock_quantity");
+
+    private static final List<String> REQUIRED_CSV_COLUMNS = List.of("name", "price", "category", "stock_quantity");
+
+    @Autowired
+    private ProductImportRepository productImportRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private ProductSearchEngine searchEngine;
+
+    @Autowired
+    private ProductCache productCache;
+
+    @Autowired
+    private ProductImportConfig importConfig;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public ProductImportResultDTO importProducts(ExportFormat format, InputStream in) throws IOException {
+        long start = System.nanoTime();
+        ProductImportResultDTO result = new ProductImportResultDTO();
+        int batchSize = Math.max(1, importConfig.getBatchSize());
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        RowSource rows = format == ExportFormat.NDJSON ? ndjsonRows(reader) : csvRows(reader);
+
+        try {
+            List<ParsedRow> chunk = new ArrayList<>(batchSize);
+            ParsedRow row;
+            while ((row = rows.next()) != null) {
+                result.setProcessed(result.getProcessed() + 1);
+                String error = row.error() != null ? row.error() : validate(row.product());
+                if (error != null) {
+                    addError(result, row.line(), error);
+                    continue;
+                }
+                chunk.add(row);
+                if (chunk.size() == batchSize) {
+                    writeChunk(transaction, chunk, result);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                writeChunk(transaction, chunk, result);
+            }
+        } finally {
+            // Também quando a leitura falha no meio (cliente desconectado, corpo truncado): os lotes
+            // já confirmados estão no banco e no índice, e os caches não podem continuar servindo a versão antiga
+            if (result.getCreated() + result.getUpdated() > 0) {
+                productCache.productsImported();
+            }
+        }
+
+        long elapsedNanos = System.nanoTime() - start;
+        result.setDurationMs(elapsedNanos / 1_000_000);
+        result.setRowsPerSecond(elapsedNanos > 0 ? result.getProcessed() * 1_000_000_000.0 / elapsedNanos : 0);
+        log.info("Product import: {} rows, {} created, {} updated, {} failed in {} ms",
+            result.getProcessed(), result.getCreated(), result.getUpdated(), result.getFailed(), result.getDurationMs());
+        return result;
+    }
+
+    private void writeChunk(TransactionTemplate transaction, List<ParsedRow> chunk, ProductImportResultDTO result) {
+        // O id das linhas novas é atribuído uma única vez, para a repetição linha a linha ainda criá-las
+        Set<UUID> newIds = new HashSet<>();
+        for (ParsedRow row : chunk) {
+            if (row.product().getId() == null) {
+                row.product().setId(UuidV7Generator.next());
+                newIds.add(row.product().getId());
+            }
+        }
+        try {
+            apply(write(transaction, chunk, newIds), result);
+        } catch (DataAccessException e) {
+            if (chunk.size() == 1) {
+                addError(result, chunk.get(0).line(), "Rejected by the database: " + e.getMostSpecificCause().getMessage());
+                return;
+            }
+            // Uma linha recusada reverte o lote inteiro: repete linha a linha para isolar as culpadas
+            log.warn("Product import batch rejected ({} rows), retrying row by row: {}", chunk.size(), e.getMostSpecificCause().getMessage());
+            for (ParsedRow row : chunk) {
+                try {
+                    apply(write(transaction, List.of(row), newIds), result);
+                } catch (DataAccessException rowError) {
+                    addError(result, row.line(), "Rejected by the database: " + rowError.getMostSpecificCause().getMessage());
+                } finally {
+                    entityManager.clear();
+                }
+            }
+        } finally {
+            // Com open-in-view o EntityManager vive a requisição inteira; nada deve se acumular entre lotes
+            entityManager.clear();
+        }
+    }
+
+    private ChunkWrite write(TransactionTemplate transaction, List<ParsedRow> rows, Set<UUID> newIds) {
+        return transaction.execute(status -> {
+            Set<UUID> requestedIds = rows.stream()
+                .map(row -> row.product().getId())
+                .filter(id -> !newIds.contains(id))
+                .collect(Collectors.toSet());
+            Set<UUID> existingIds = requestedIds.isEmpty()
+                ? Set.of()
+                : new HashSet<>(productRepository.findExistingIds(requestedIds));
+
+            ChunkWrite chunkWrite = new ChunkWrite(new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+            for (ParsedRow row : rows) {
+                UUID id = row.product().getId();
+                if (newIds.contains(id)) {
+                    chunkWrite.inserts().add(row);
+                } else if (existingIds.contains(id)) {
+                    chunkWrite.updates().add(row);
+                } else {
+                    chunkWrite.missing().add(row);
+                }
+            }
+            productImportRepository.insertAll(chunkWrite.inserts().stream().map(ParsedRow::product).toList());
+            productImportRepository.updateAll(chunkWrite.updates().stream().map(ParsedRow::product).toList());
+            return chunkWrite;
+        });
+    }
+
+    // Só depois do commit: uma tentativa revertida não deixa contagem, erro nem entrada no índice
+    private void apply(ChunkWrite chunkWrite, ProductImportResultDTO result) {
+        for (ParsedRow row : chunkWrite.missing()) {
+            addError(result, row.line(), "Product not found: " + row.product().getId());
+        }
+        result.setCreated(result.getCreated() + chunkWrite.inserts().size());
+        result.setUpdated(result.getUpdated() + chunkWrite.updates().size());
+        // Lote confirmado: o índice de busca recebe as linhas direto, sem recarregar o catálogo
+        chunkWrite.inserts().forEach(this::index);
+        chunkWrite.updates().forEach(this::index);
+    }
+
+    private void index(ParsedRow row) {
+        ProductImportRowDTO product = row.product();
+        searchEngine.index(new Product(product.getId(), product.getName(), product.getDescription(), product.getPrice(),
+            product.getCategory(), product.getStockQuantity(), null, null));
+    }
+
+    private String validate(ProductImportRowDTO product) {
+        Set<ConstraintViolation<ProductImportRowDTO>> violations = validator.validate(product);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+            .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+            .sorted()
+            .collect(Collectors.joining("; "));
+    }
+
+    private void addError(ProductImportResultDTO result, long line, String message) {
+        result.setFailed(result.getFailed() + 1);
+        if (result.getErrors().size() < importConfig.getMaxReportedErrors()) {
+            result.getErrors().add(new ProductImportResultDTO.RowErrorDTO(line, message));
+        } else {
+            result.setErrorsTruncated(true);
+        }
+    }
+
+    private RowSource ndjsonRows(BufferedReader reader) {
+        long[] line = {0};
+        return () -> {
+            String text;
+            while ((text = reader.readLine()) != null) {
+                line[0]++;
+                if (text.isBlank()) {
+                    continue;
+                }
+                try {
+                    return new ParsedRow(line[0], objectMapper.readValue(text, ProductImportRowDTO.class), null);
+                } catch (JsonProcessingException e) {
+                    return new ParsedRow(line[0], null, "Invalid JSON: " + e.getOriginalMessage());
+                }
+            }
+            return null;
+        };
+    }
+
+    private RowSource csvRows(BufferedReader reader) throws IOException {
+        CsvRecordReader csv = new CsvRecordReader(reader);
+        List<String> header = csv.next();
+        if (header == null) {
+            return () -> null;
+        }
+
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            // Planilhas costumam gravar o BOM do UTF-8 no início do arquivo
+            String name = header.get(i).replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT);
+            columns.putIfAbsent(name, i);
+        }
+        for (String required : REQUIRED_CSV_COLUMNS) {
+            if (!columns.containsKey(required)) {
+                throw new RuntimeException("Missing CSV column: " + required + " (expected " + String.join(",", CSV_COLUMNS) + ")");
+            }
+        }
+
+        return () -> {
+            List<String> record;
+            try {
+                record = csv.next();
+            } catch (CsvRecordReader.MalformedCsvException e) {
+                // Aspas sem fechamento consomem o resto do arquivo: vira o erro da última linha
+                return new ParsedRow(csv.getRecordLine(), null, e.getMessage());
+            }
+            if (record == null) {
+                return null;
+            }
+            long line = csv.getRecordLine();
+            ProductImportRowDTO product = new ProductImportRowDTO();
+            try {
+                String id = csvValue(record, columns, "id");
+                product.setId(id != null ? UUID.fromString(id) : null);
+            } catch (IllegalArgumentException e) {
+                return new ParsedRow(line, null, "Invalid id: " + csvValue(record, columns, "id"));
+            }
+            product.setName(csvValue(record, columns, "name"));
+            product.setDescription(csvValue(record, columns, "description"));
+            product.setCategory(csvValue(record, columns, "category"));
+            try {
+                String price = csvValue(record, columns, "price");
+                product.setPrice(price != null ? new BigDecimal(price) : null);
+            } catch (NumberFormatException e) {
+                return new ParsedRow(line, null, "Invalid price: " + csvValue(record, columns, "price"));
+            }
+            try {
+                String stock = csvValue(record, columns, "stock_quantity");
+                product.setStockQuantity(stock != null ? Integer.valueOf(stock) : null);
+            } catch (NumberFormatException e) {
+                return new ParsedRow(line, null, "Invalid stock_quantity: " + csvValue(record, columns, "stock_quantity"));
+            }
+            return new ParsedRow(line, product, null);
+        };
+    }
+
+    private static String csvValue(List<String> record, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    @FunctionalInterface
+    private interface RowSource {
+        ParsedRow next() throws IOException;
+    }
+
+    private record ParsedRow(long line, ProductImportRowDTO product, String error) {
+    }
+
+    private record ChunkWrite(List<ParsedRow> inserts, List<ParsedRow> updates, List<ParsedRow> missing) {
+    }
+}
@@ -1,26 +1,45 @@
 package com.ecommerce.service;
 
+import com.ecommerce.cache.AfterCommit;
+import com.ecommerce.cache.ProductCache;
+import com.ecommerce.config.CacheConfig;
+import com.ecommerce.dto.common.CursorPageDTO;
 import com.ecommerce.dto.product.ProductRequestDTO;
 import com.ecommerce.dto.product.ProductResponseDTO;
 import com.ecommerce.dto.product.ProductUpdateDTO;
 import com.ecommerce.entity.Product;
 import com.ecommerce.repository.ProductRepository;
+import com.ecommerce.search.ProductSearchEngine;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
+@Timed("ecommerce.service")
 public class ProductService {
     
     @Autowired
     private ProductRepository productRepository;
     
+    @Autowired
+    private ProductSearchEngine searchEngine;
+    
+    @Autowired
+    private ProductCache productCache;
+    
     public ProductResponseDTO createProduct(ProductRequestDTO request) {
         Product product = new Product();
         product.setName(request.getName());
@@ -30,12 +49,16 @@ public class ProductService {
         product.setStockQuantity(request.getStockQuantity());
         
         product = productRepository.save(product);
+        Product indexed = product;
+        AfterCommit.run(() -> searchEngine.index(indexed));
+        productCache.productCreated(product.getCategory());
         return mapToResponseDTO(product);
     }
     
     public ProductResponseDTO updateProduct(UUID id, ProductUpdateDTO request) {
         Product product = productRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Product not found"));
+        String previousCategory = product.getCategory();
         
         product.setName((request.getName() != null) ? request.getName() : product.getName());
         product.setDescription(request.getDescription() != null ? request.getDescription() : product.getDescription());
@@ -44,6 +67,9 @@ public class ProductService {
         product.setStockQuantity(request.getStockQuantity() != null ? request.getStockQuantity() : product.getStockQuantity());
         
         product = productRepository.save(product);
+        Product indexed = product;
+        AfterCommit.run(() -> searchEngine.index(indexed));
+        productCache.productUpdated(id, previousCategory, product.getCategory());
         return mapToResponseDTO(product);
     }
     
@@ -52,9 +78,12 @@ public class ProductService {
             throw new RuntimeException("Product not found");
         }
         productRepository.deleteById(id);
+        AfterCommit.run(() -> searchEngine.remove(id));
+        productCache.productDeleted(id);
     }
     
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.PRODUCTS, key = "#id")
     public ProductResponseDTO getProduct(UUID id) {
         Product product = productRepository.findById(id)
             .orElseThrow(() -> new RuntimeException("Product not found"));
@@ -67,24 +96,68 @@ public class ProductService {
             .map(this::mapToResponseDTO);
     }
     
+    @Transactional(readOnly = true)
+    public CursorPageDTO<ProductResponseDTO> getProductsAfter(String cursor, int size, boolean includeTotal) {
+        int pageSize = CursorCodec.normalizeSize(size);
+        // Busca um registro a mais para saber se existe próxima página sem precisar de COUNT
+        Limit limit = Limit.of(pageSize + 1);
+        List<Product> products;
+        if (cursor == null || cursor.isBlank()) {
+            products = productRepository.findFirstOrderById(limit);
+        } else {
+            UUID after = UUID.fromString(CursorCodec.decode(cursor, 1)[0]);
+            products = productRepository.findAfterOrderById(after, limit);
+        }
+        
+        boolean hasNext = products.size() > pageSize;
+        if (hasNext) {
+            products = products.subList(0, pageSize);
+        }
+        
+        List<ProductResponseDTO> content = products.stream()
+            .map(this::mapToResponseDTO)
+            .collect(Collectors.toList());
+        String nextCursor = hasNext ? CursorCodec.encode(products.get(products.size() - 1).getId().toString()) : null;
+        Long total = includeTotal ? productRepository.count() : null;
+        
+        return new CursorPageDTO<>(content, nextCursor, hasNext, pageSize, total);
+    }
+    
     @Transactional(readOnly = true)
     public Page<ProductResponseDTO> searchProducts(String name, Pageable pageable) {
-        return productRepository.findByNameContainingIgnoreCase(name, pageable)
-            .map(this::mapToResponseDTO);
+        Page<UUID> ids = searchEngine.search(name, pageable);
+        if (ids.isEmpty()) {
+            return new PageImpl<>(List.of(), ids.getPageable(), ids.getTotalElements());
+        }
+        
+        // Mantém a ordem de relevância retornada pelo mecanismo de busca
+        Map<UUID, Product> productsById = productRepository.findByIdIn(ids.getContent()).stream()
+            .collect(Collectors.toMap(Product::getId, p -> p));
+        List<ProductResponseDTO> content = ids.getContent().stream()
+            .map(productsById::get)
+            .filter(Objects::nonNull)
+            .map(this::mapToResponseDTO)
+            .collect(Collectors.toList());
+        return new PageImpl<>(content, ids.getPageable(), ids.getTotalElements());
     }
     
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.PRODUCTS_BY_CATEGORY,
+               key = "T(com.ecommerce.cache.ProductCache).categoryPageKey(#category, #pageable.pageNumber, #pageable.pageSize, #pageable.sort.toString())")
     public Page<ProductResponseDTO> getProductsByCategory(String category, Pageable pageable) {
-        return productRepository.findByCategory(category, pageable)
+        Page<ProductResponseDTO> page = productRepository.findByCategory(category, pageable)
             .map(this::mapToResponseDTO);
+        productCache.categoryPageLoaded(page);
+        return page;
     }
     
     @Transactional(readOnly = true)
+    @Cacheable(CacheConfig.PRODUCT_CATEGORIES)
     public List<String> getCategories() {
         return productRepository.findAllCategories();
     }
     
-    private ProductResponseDTO mapToResponseDTO(Product product) {
+    ProductResponseDTO mapToResponseDTO(Product product) {
         ProductResponseDTO dto = new ProductResponseDTO();
         dto.setId(product.getId());
         dto.setName(product.getName());
@@ -0,0 +1,148 @@
+package com.ecommerce.service;
+
+import com.ecommerce.dto.report.OrderExportView;
+import com.ecommerce.dto.report.UserTicketExportView;
+import com.ecommerce.enums.ExportFormat;
+import com.ecommerce.repository.OrderExportRepository;
+import com.ecommerce.repository.OrderRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Exportações completas para o financeiro: as linhas saem do cursor direto para o OutputStream,
+ * então a memória usada não depende da quantidade de pedidos.
+ */
+@Service
+@Timed("ecommerce.service")
+public class ReportExportService {
+    
+    static final int CHUNK_SIZE = OrderExportRepository.EXPORT_FETCH_SIZE;
+    
+    private static final List<String> ORDER_COLUMNS = List.of(
+        "order_id", "user_id", "user_email", "status", "total_amount", "created_at", "updated_at");
+    
+    private static final List<String> TICKET_COLUMNS = List.of(
+        "user_id", "email", "name", "paid_orders", "total_spent", "average_ticket");
+    
+    @Autowired
+    private OrderRepository orderRepository;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Transactional(readOnly = true)
+    public long exportOrders(ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<OrderExportView> rows = orderRepository.streamOrdersForExport()) {
+            return write(format, ORDER_COLUMNS, rows, row -> Arrays.asList(
+                row.orderId(), row.userId(), row.userEmail(), row.status(),
+                row.totalAmount(), row.createdAt(), row.updatedAt()), out);
+        }
+    }
+    
+    @Transactional(readOnly = true)
+    public long exportUserTickets(ExportFormat format, OutputStream out) throws IOException {
+        try (Stream<UserTicketExportView> rows = orderRepository.streamUserTicketsForExport()) {
+            return write(format, TICKET_COLUMNS, rows, row -> Arrays.asList(
+                row.userId(), row.email(), row.name(), row.paidOrders(), row.totalSpent(),
+                row.totalSpent().divide(BigDecimal.valueOf(row.paidOrders()), 2, RoundingMode.HALF_UP)), out);
+        }
+    }
+    
+    private <T> long write(ExportFormat format, List<String> columns, Stream<T> rows,
+                           Function<T, List<Object>> toValues, OutputStream out) throws IOException {
+        // O OutputStream pertence à resposta: é descarregado mas não fechado aqui
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        JsonGenerator json = null;
+        if (format == ExportFormat.NDJSON) {
+            json = objectMapper.getFactory().createGenerator(writer);
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            json.disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+            json.setRootValueSeparator(new SerializedString("\n"));
+        } else {
+            writeCsvLine(writer, columns);
+        }
+        
+        long count = 0;
+        Iterator<T> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            List<Object> values = toValues.apply(iterator.next());
+            if (json != null) {
+                json.writeStartObject();
+                for (int i = 0; i < columns.size(); i++) {
+                    json.writeFieldName(columns.get(i));
+                    json.writeObject(values.get(i));
+                }
+                json.writeEndObject();
+            } else {
+                writeCsvLine(writer, values);
+            }
+            
+            if (++count % CHUNK_SIZE == 0) {
+                // Solta o que o Hibernate tiver anexado ao lote e envia o trecho ao cliente
+                entityManager.clear();
+                if (json != null) {
+                    json.flush();
+                }
+                writer.flush();
+            }
+        }
+        
+        if (json != null) {
+            if (count > 0) {
+                json.writeRaw('\n');
+            }
+            json.flush();
+        }
+        writer.flush();
+        return count;
+    }
+    
+    private void writeCsvLine(Writer writer, List<?> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(csvField(values.get(i)));
+        }
+        writer.write("\r\n");
+    }
+    
+    static String csvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value instanceof BigDecimal decimal ? decimal.toPlainString() : value.toString();
+        // Evita que planilhas interpretem nomes/e-mails como fórmulas
+        if (!text.isEmpty() && "=+-@".indexOf(text.charAt(0)) >= 0 && !(value instanceof Number)) {
+            text = "'" + text;
+        }
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+}
@@ -0,0 +1,229 @@
+package com.ecommerce.service;
+
+import com.ecommerce.config.CacheConfig;
+import com.ecommerce.config.ReportConfig;
+import com.ecommerce.dto.report.ReportJobDTO;
+import com.ecommerce.dto.report.ReportJobRequestDTO;
+import com.ecommerce.enums.ReportJobStatus;
+import com.ecommerce.enums.ReportType;
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Executa relatórios fora das threads do Tomcat, em um pool próprio com fila limitada.
+ * Pedidos com o mesmo tipo e parâmetros reaproveitam o job em andamento ou o resultado
+ * ainda válido no cache reportResults, sem nova consulta ao banco.
+ */
+@Service
+public class ReportJobService {
+    
+    private static final Logger log = LoggerFactory.getLogger(ReportJobService.class);
+    
+    static final int MAX_PAGE_SIZE = 1000;
+    
+    private final ReportService reportService;
+    private final ExecutorService executor;
+    private final Cache<Object, Object> jobsByKey;
+    private final Cache<Object, Object> jobsById;
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
+    
+    @SuppressWarnings("unchecked")
+    public ReportJobService(ReportService reportService, ReportConfig reportConfig,
+                            CacheManager cacheManager, MeterRegistry meterRegistry) {
+        this.reportService = reportService;
+        this.jobsByKey = (Cache<Object, Object>) cacheManager.getCache(CacheConfig.REPORT_RESULTS).getNativeCache();
+        this.jobsById = (Cache<Object, Object>) cacheManager.getCache(CacheConfig.REPORT_JOBS).getNativeCache();
+        
+        int poolSize = Math.max(1, reportConfig.getJobPoolSize());
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(Math.max(1, reportConfig.getJobQueueCapacity())),
+            new CustomizableThreadFactory("report-job-"),
+            new ThreadPoolExecutor.AbortPolicy());
+        // executor.active, executor.queued, executor.completed... com name=reportJobs
+        this.executor = ExecutorServiceMetrics.monitor(meterRegistry, pool, "reportJobs");
+        
+        this.cacheHits = Counter.builder("ecommerce.report.jobs")
+            .description("Pedidos de relatório assíncrono")
+            .tag("cache", "hit")
+            .register(meterRegistry);
+        this.cacheMisses = Counter.builder("ecommerce.report.jobs")
+            .description("Pedidos de relatório assíncrono")
+            .tag("cache", "miss")
+            .register(meterRegistry);
+    }
+    
+    /**
+     * Valida os parâmetros e agenda o relatório. Fila cheia lança RejectedExecutionException (503).
+     */
+    public ReportJobDTO submit(ReportJobRequestDTO request) {
+        ReportQuery query = parse(request.getType(), request.getParams() != null ? request.getParams() : Map.of());
+        
+        // Job com falha não fica no cache: o próximo pedido reexecuta
+        ReportJob job = (ReportJob) jobsByKey.asMap().compute(query.key(), (key, existing) ->
+            existing != null && ((ReportJob) existing).status != ReportJobStatus.FAILED ? existing : new ReportJob(query));
+        
+        if (!job.submitted.compareAndSet(false, true)) {
+            cacheHits.increment();
+            return job.toDTO();
+        }
+        
+        cacheMisses.increment();
+        jobsById.put(job.id, job);
+        try {
+            executor.execute(() -> run(job));
+        } catch (RuntimeException e) {
+            jobsByKey.asMap().remove(query.key(), job);
+            jobsById.invalidate(job.id);
+            throw e;
+        }
+        return job.toDTO();
+    }
+    
+    public ReportJobDTO getJob(UUID id) {
+        ReportJob job = (ReportJob) jobsById.getIfPresent(id);
+        if (job == null) {
+            throw new RuntimeException("Report job not found");
+        }
+        return job.toDTO();
+    }
+    
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+    
+    private void run(ReportJob job) {
+        job.status = ReportJobStatus.RUNNING;
+        try {
+            job.result = job.query.report().get();
+            job.completedAt = LocalDateTime.now();
+            job.status = ReportJobStatus.COMPLETED;
+            // O TTL do resultado conta a partir da conclusão, não do pedido
+            jobsByKey.asMap().replace(job.query.key(), job, job);
+        } catch (RuntimeException e) {
+            log.error("Relatório {} falhou ({})", job.query.type(), job.id, e);
+            job.error = e.getMessage();
+            job.completedAt = LocalDateTime.now();
+            job.status = ReportJobStatus.FAILED;
+            jobsByKey.asMap().remove(job.query.key(), job);
+        }
+    }
+    
+    // Normaliza os parâmetros (padrões aplicados, chaves desconhecidas ignoradas) para compor a chave do cache
+    private ReportQuery parse(ReportType type, Map<String, String> params) {
+        Map<String, String> normalized = new TreeMap<>();
+        Supplier<Object> report = switch (type) {
+            case TOP_USERS -> reportService::getTop5UsersByPurchases;
+            case AVERAGE_TICKETS -> {
+                int minOrders = intParam(params, "minOrders", 1);
+                Integer top = params.containsKey("top") ? intParam(params, "top", 0) : null;
+                int page = intParam(params, "page", 0);
+                int size = intParam(params, "size", 20);
+                ReportService.checkAverageTicketFilters(minOrders, top);
+                if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+                    throw new RuntimeException("Invalid page parameters");
+                }
+                normalized.put("minOrders", String.valueOf(minOrders));
+                if (top != null) {
+                    normalized.put("top", String.valueOf(top));
+                }
+                normalized.put("page", String.valueOf(page));
+                normalized.put("size", String.valueOf(size));
+                yield () -> reportService.getUserAverageTickets(minOrders, top, PageRequest.of(page, size));
+            }
+            case MONTHLY_REVENUE -> {
+                YearMonth month = yearMonth(() -> YearMonth.of(intParam(params, "year", null), intParam(params, "month", null)));
+                normalized.put("year", String.valueOf(month.getYear()));
+                normalized.put("month", String.valueOf(month.getMonthValue()));
+                yield () -> reportService.getMonthlyRevenue(month.getYear(), month.getMonthValue());
+            }
+            case REVENUE_SERIES -> {
+                YearMonth from = yearMonth(() -> YearMonth.parse(String.valueOf(params.get("from"))));
+                YearMonth to = yearMonth(() -> YearMonth.parse(String.valueOf(params.get("to"))));
+                ReportService.checkRevenuePeriod(from, to);
+                normalized.put("from", from.toString());
+                normalized.put("to", to.toString());
+                yield () -> reportService.getRevenueSeries(from, to);
+            }
+        };
+        return new ReportQuery(type, Collections.unmodifiableMap(normalized), report);
+    }
+    
+    private static int intParam(Map<String, String> params, String name, Integer defaultValue) {
+        String value = params.get(name);
+        if (value == null || value.isBlank()) {
+            if (defaultValue == null) {
+                throw new RuntimeException("Missing parameter: " + name);
+            }
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Invalid parameter: " + name);
+        }
+    }
+    
+    private static YearMonth yearMonth(Supplier<YearMonth> parser) {
+        try {
+            return parser.get();
+        } catch (DateTimeException e) {
+            throw new RuntimeException("Invalid period: " + e.getMessage());
+        }
+    }
+    
+    record ReportQuery(ReportType type, Map<String, String> params, Supplier<Object> report) {
+        
+        String key() {
+            return type + params.toString();
+        }
+    }
+    
+    // Estado mutável do job; escrito pela thread do pool e lido pelas requisições de consulta
+    static final class ReportJob {
+        
+        final UUID id = UUID.randomUUID();
+        final ReportQuery query;
+        final LocalDateTime createdAt = LocalDateTime.now();
+        final AtomicBoolean submitted = new AtomicBoolean();
+        volatile ReportJobStatus status = ReportJobStatus.PENDING;
+        volatile LocalDateTime completedAt;
+        volatile String error;
+        volatile Object result;
+        
+        ReportJob(ReportQuery query) {
+            this.query = query;
+        }
+        
+        ReportJobDTO toDTO() {
+            // status (volatile, gravado por último em run) é lido primeiro: se indica COMPLETED, o resultado já está visível
+            ReportJobStatus current = status;
+            return new ReportJobDTO(id, query.type(), query.params(), current, createdAt, completedAt, error,
+                current == ReportJobStatus.COMPLETED ? result : null);
+        }
+    }
+}
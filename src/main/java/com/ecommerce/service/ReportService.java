@@ -1,38 +1,65 @@
 package com.ecommerce.service;
 
+import com.ecommerce.config.ReportConfig;
 import com.ecommerce.dto.report.MonthlyRevenueDTO;
 import com.ecommerce.dto.report.TopUserDTO;
 import com.ecommerce.dto.report.UserAverageTicketDTO;
 import com.ecommerce.repository.OrderRepository;
+import com.ecommerce.repository.ReportAggregateRepository;
 import com.ecommerce.repository.UserRepository;
+import com.ecommerce.repository.UuidBinary;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.time.LocalDateTime;
 import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
 @Transactional(readOnly = true)
+@Timed("ecommerce.service")
 public class ReportService {
     
+    private static final Logger log = LoggerFactory.getLogger(ReportService.class);
+    
+    static final int MAX_REVENUE_MONTHS = 36;
+    
     @Autowired
     private UserRepository userRepository;
     
     @Autowired
     private OrderRepository orderRepository;
     
+    @Autowired
+    private ReportAggregateRepository reportAggregateRepository;
+    
+    @Autowired
+    private ReportConfig reportConfig;
+    
     public List<TopUserDTO> getTop5UsersByPurchases() {
+        if (reportConfig.isUseAggregates()) {
+            return reportAggregateRepository.findTopUsers(5);
+        }
+        
         List<Object[]> results = userRepository.findTop5UsersByTotalSpent();
         
         return results.stream()
             .map(result -> {
                 TopUserDTO dto = new TopUserDTO();
-                dto.setUserId(UUID.fromString(result[0].toString())); 
+                dto.setUserId(UuidBinary.fromBytes((byte[]) result[0])); 
                 dto.setEmail(result[1].toString());
                 dto.setName(result[2].toString()); 
                 dto.setOrderCount(((Number) result[3]).longValue()); 
@@ -42,46 +69,90 @@ public class ReportService {
             .collect(Collectors.toList());
     }
     
-    public List<UserAverageTicketDTO> getUserAverageTickets() {
-        List<Object[]> results = orderRepository.findAverageTicketByUser();
+    /**
+     * Ticket médio por usuário, paginado. minOrders e top são aplicados no banco:
+     * top limita o ranking inteiro (ex.: top 100 em páginas de 20).
+     */
+    public Page<UserAverageTicketDTO> getUserAverageTickets(int minOrders, Integer top, Pageable pageable) {
+        checkAverageTicketFilters(minOrders, top);
         
-        return results.stream()
-            .map(result -> {
-                UserAverageTicketDTO dto = new UserAverageTicketDTO();
-                dto.setEmail(result[0].toString());
-                dto.setName(result[1].toString());
-                dto.setAverageTicket(BigDecimal.valueOf(((Number) result[2]).doubleValue()));
-                return dto;
-            })
-            .collect(Collectors.toList());
+        long offset = pageable.getOffset();
+        int limit = pageable.getPageSize();
+        if (top != null) {
+            limit = (int) Math.max(0, Math.min(limit, top - offset));
+        }
+        
+        if (reportConfig.isUseAggregates()) {
+            long total = reportAggregateRepository.countAverageTickets(minOrders);
+            List<UserAverageTicketDTO> content = limit > 0 && offset < total
+                ? reportAggregateRepository.findAverageTickets(minOrders, offset, limit)
+                : List.of();
+            return new PageImpl<>(content, pageable, top != null ? Math.min(total, top) : total);
+        }
+        
+        // A ordenação é fixa (ticket médio desc, e-mail); ?sort= do cliente é ignorado
+        Page<UserAverageTicketDTO> page = orderRepository.findAverageTicketsByUser(minOrders,
+            PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()));
+        if (top == null) {
+            return page;
+        }
+        List<UserAverageTicketDTO> content = page.getContent().subList(0, Math.min(limit, page.getNumberOfElements()));
+        return new PageImpl<>(content, pageable, Math.min(page.getTotalElements(), top));
     }
     
     public MonthlyRevenueDTO getMonthlyRevenue(int year, int month) {
         try {
             YearMonth yearMonth = YearMonth.of(year, month);
-            LocalDateTime startDate = yearMonth.atDay(1).atStartOfDay();
-            LocalDateTime endDate = yearMonth.atEndOfMonth().atTime(23, 59, 59);
-            
-            BigDecimal totalRevenue = orderRepository.findTotalRevenueByPeriod(startDate, endDate);
-            Long orderCount = orderRepository.countPaidOrdersByPeriod(startDate, endDate);
-            
-            if (totalRevenue == null) {
-                totalRevenue = BigDecimal.ZERO;
-            }
-            if (orderCount == null) {
-                orderCount = 0L;
-            }
-            
-            MonthlyRevenueDTO dto = new MonthlyRevenueDTO();
-            dto.setYear(year);
-            dto.setMonth(month);
-            dto.setTotalRevenue(totalRevenue);
-            dto.setOrderCount(orderCount);
-            
-            return dto;
+            return getRevenueSeries(yearMonth, yearMonth).get(0);
         } catch (Exception e) {
-            System.err.println("Erro no getMonthlyRevenue: " + e.getMessage());
+            log.error("Erro no getMonthlyRevenue({}, {})", year, month, e);
             throw e;
         }
     }
+    
+    /**
+     * Faturamento mês a mês de from até to (inclusive), com zero nos meses sem pedidos pagos.
+     */
+    public List<MonthlyRevenueDTO> getRevenueSeries(YearMonth from, YearMonth to) {
+        checkRevenuePeriod(from, to);
+        
+        List<MonthlyRevenueDTO> rows;
+        if (reportConfig.isUseAggregates()) {
+            rows = reportAggregateRepository.findMonthlyRevenueBetween(from, to);
+        } else {
+            // Intervalo semiaberto [início de from, início do mês seguinte a to)
+            rows = orderRepository.findMonthlyRevenueBetween(
+                from.atDay(1).atStartOfDay(), to.plusMonths(1).atDay(1).atStartOfDay());
+        }
+        
+        Map<YearMonth, MonthlyRevenueDTO> byMonth = new HashMap<>();
+        for (MonthlyRevenueDTO row : rows) {
+            byMonth.put(YearMonth.of(row.getYear(), row.getMonth()), row);
+        }
+        
+        List<MonthlyRevenueDTO> series = new ArrayList<>();
+        for (YearMonth month = from; !month.isAfter(to); month = month.plusMonths(1)) {
+            MonthlyRevenueDTO dto = byMonth.get(month);
+            series.add(dto != null ? dto : new MonthlyRevenueDTO(month.getYear(), month.getMonthValue(), BigDecimal.ZERO, 0L));
+        }
+        return series;
+    }
+    
+    static void checkAverageTicketFilters(int minOrders, Integer top) {
+        if (minOrders < 1) {
+            throw new RuntimeException("minOrders must be at least 1");
+        }
+        if (top != null && top < 1) {
+            throw new RuntimeException("top must be at least 1");
+        }
+    }
+    
+    static void checkRevenuePeriod(YearMonth from, YearMonth to) {
+        if (from.isAfter(to)) {
+            throw new RuntimeException("Invalid period: from must not be after to");
+        }
+        if (ChronoUnit.MONTHS.between(from, to) >= MAX_REVENUE_MONTHS) {
+            throw new RuntimeException("Invalid period: at most " + MAX_REVENUE_MONTHS + " months");
+        }
+    }
 }
@@ -0,0 +1,79 @@
+package com.ecommerce.threads;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Com virtual threads o Tomcat não limita mais as requisições simultâneas (o teto de
+ * server.tomcat.threads.max deixa de existir). O semáforo devolve esse teto, calculado a partir
+ * do pool do Hikari, para que a fila de espera por conexão não cresça sem limite: quem não
+ * obtém vaga dentro de acquireTimeoutMs recebe 503 em vez de esperar o connection-timeout.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+    
+    static final String BUSY_BODY = "{\"message\":\"Server busy, please retry later\",\"status\":503}";
+    
+    private final Semaphore permits;
+    private final int maxConcurrentRequests;
+    private final long acquireTimeoutMs;
+    private final Counter rejected;
+    
+    public ConcurrencyLimitFilter(int maxConcurrentRequests, long acquireTimeoutMs, MeterRegistry meterRegistry) {
+        this.permits = new Semaphore(maxConcurrentRequests);
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        
+        Gauge.builder("ecommerce.requests.active", this, ConcurrencyLimitFilter::getActiveRequests)
+            .description("Requisições em andamento dentro do limite de concorrência")
+            .register(meterRegistry);
+        this.rejected = Counter.builder("ecommerce.requests.rejected")
+            .description("Requisições recusadas com 503 pelo limite de concorrência")
+            .register(meterRegistry);
+    }
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean acquired;
+        try {
+            // A espera estaciona apenas a virtual thread, sem ocupar thread de plataforma
+            acquired = permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            rejected.increment();
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader("Retry-After", "1");
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write(BUSY_BODY);
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+    
+    public int getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+    
+    public int getActiveRequests() {
+        return maxConcurrentRequests - permits.availablePermits();
+    }
+}
@@ -0,0 +1,92 @@
+package com.ecommerce.threads;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Acompanha pelo JFR os trechos em que uma virtual thread bloqueou presa à thread portadora
+ * (synchronized ou código nativo), que é o que anula o ganho do modo virtual. Cada ocorrência
+ * acima do limite conta em ecommerce.virtual_threads.pinned; a pilha é registrada em WARN
+ * uma vez por ponto de origem.
+ */
+public class PinnedThreadMonitor implements AutoCloseable {
+    
+    private static final Logger log = LoggerFactory.getLogger(PinnedThreadMonitor.class);
+    
+    static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int MAX_LOGGED_SITES = 100;
+    private static final int LOGGED_FRAMES = 12;
+    
+    private final Duration threshold;
+    private final Counter pinned;
+    private final Timer pinnedDuration;
+    private final Set<String> loggedSites = ConcurrentHashMap.newKeySet();
+    private RecordingStream stream;
+    
+    public PinnedThreadMonitor(Duration threshold, MeterRegistry meterRegistry) {
+        this.threshold = threshold;
+        this.pinned = Counter.builder("ecommerce.virtual_threads.pinned")
+            .description("Bloqueios de virtual threads presas à thread portadora")
+            .register(meterRegistry);
+        this.pinnedDuration = Timer.builder("ecommerce.virtual_threads.pinned.duration")
+            .description("Duração dos bloqueios com a thread portadora presa")
+            .register(meterRegistry);
+    }
+    
+    public void start() {
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::onPinned);
+        stream.startAsync();
+        log.info("Monitorando {} acima de {} ms", PINNED_EVENT, threshold.toMillis());
+    }
+    
+    void onPinned(RecordedEvent event) {
+        pinned.increment();
+        pinnedDuration.record(event.getDuration());
+        
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return;
+        }
+        // O topo da pilha é sempre o park da JDK; o ponto de origem é o primeiro frame fora dela
+        String site = stackTrace.getFrames().stream()
+            .filter(frame -> !isJdkFrame(frame))
+            .findFirst()
+            .map(PinnedThreadMonitor::describe)
+            .orElse(describe(stackTrace.getFrames().get(0)));
+        if (loggedSites.size() < MAX_LOGGED_SITES && loggedSites.add(site)) {
+            StringBuilder frames = new StringBuilder();
+            stackTrace.getFrames().stream().limit(LOGGED_FRAMES)
+                .forEach(frame -> frames.append(System.lineSeparator()).append("\tat ").append(describe(frame)));
+            log.warn("Virtual thread presa à portadora por {} ms em {}{}", event.getDuration().toMillis(), site, frames);
+        }
+    }
+    
+    @Override
+    public void close() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+    
+    private static boolean isJdkFrame(RecordedFrame frame) {
+        String type = frame.getMethod().getType().getName();
+        return type.startsWith("java.") || type.startsWith("jdk.") || type.startsWith("sun.");
+    }
+    
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+}
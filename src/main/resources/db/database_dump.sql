@@ -21,6 +21,7 @@ CREATE TABLE products (
     price DECIMAL(10, 2) NOT NULL,
     category VARCHAR(255) NOT NULL,
     stock_quantity INT NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
     INDEX idx_category (category),
@@ -33,6 +34,7 @@ CREATE TABLE orders (
     user_id CHAR(36) NOT NULL,
     status ENUM('PENDING', 'PAID', 'CANCELLED', 'SHIPPED', 'DELIVERED') NOT NULL,
     total_amount DECIMAL(10, 2) NOT NULL,
+    version BIGINT NOT NULL DEFAULT 0,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
     FOREIGN KEY (user_id) REFERENCES users(id),
@@ -0,0 +1,12 @@
+-- Histórico de pedidos do usuário (offset e keyset): WHERE user_id = ? ORDER BY created_at DESC, id DESC
+CREATE INDEX idx_orders_user_created ON orders (user_id, created_at, id);
+
+-- Relatórios por período: WHERE status = 'PAID' AND created_at BETWEEN ... com SUM/COUNT de total_amount.
+-- Inclui total_amount para a consulta ser resolvida só pelo índice (covering index).
+CREATE INDEX idx_orders_status_created ON orders (status, created_at, total_amount);
+
+-- Ticket médio e ranking por usuário: WHERE status = 'PAID' GROUP BY user_id com AVG/SUM(total_amount)
+CREATE INDEX idx_orders_status_user ON orders (status, user_id, total_amount);
+
+-- O idx_status, prefixo dos dois índices acima, é removido na V2.1 (db/vendor): nem todo banco marcado
+-- como V1 pelo baseline o possui
@@ -0,0 +1,36 @@
+-- Agregados dos relatórios, mantidos de forma incremental por OrderService.payOrder
+-- na mesma transação que marca o pedido como PAID.
+
+-- Totais por usuário: ranking de compradores e ticket médio sem varrer orders
+CREATE TABLE user_order_stats (
+    user_id CHAR(36) PRIMARY KEY NOT NULL,
+    paid_order_count BIGINT NOT NULL DEFAULT 0,
+    paid_total DECIMAL(15, 2) NOT NULL DEFAULT 0,
+    FOREIGN KEY (user_id) REFERENCES users(id),
+    INDEX idx_user_order_stats_total (paid_total)
+);
+
+-- Receita por mês (mês de criação do pedido, como no relatório original).
+-- Cada mês é dividido em slots para que pagamentos concorrentes não disputem o lock de uma única linha;
+-- a leitura soma os slots do mês.
+CREATE TABLE monthly_revenue (
+    revenue_year INT NOT NULL,
+    revenue_month INT NOT NULL,
+    slot INT NOT NULL,
+    paid_order_count BIGINT NOT NULL DEFAULT 0,
+    total_revenue DECIMAL(15, 2) NOT NULL DEFAULT 0,
+    PRIMARY KEY (revenue_year, revenue_month, slot)
+);
+
+-- Carga inicial a partir dos pedidos já pagos
+INSERT INTO user_order_stats (user_id, paid_order_count, paid_total)
+SELECT user_id, COUNT(*), SUM(total_amount)
+FROM orders
+WHERE status = 'PAID'
+GROUP BY user_id;
+
+INSERT INTO monthly_revenue (revenue_year, revenue_month, slot, paid_order_count, total_revenue)
+SELECT YEAR(created_at), MONTH(created_at), 0, COUNT(*), SUM(total_amount)
+FROM orders
+WHERE status = 'PAID'
+GROUP BY YEAR(created_at), MONTH(created_at);
@@ -0,0 +1,8 @@
+-- Batimento de replicação: gravado no primário e lido na réplica para medir o atraso
+-- (ver ReplicaLagMonitor). Uma única linha, com o instante da gravação em epoch millis.
+CREATE TABLE replication_heartbeat (
+    id INT PRIMARY KEY NOT NULL,
+    beat_at_ms BIGINT NOT NULL
+);
+
+INSERT INTO replication_heartbeat (id, beat_at_ms) VALUES (1, 0);
@@ -0,0 +1,54 @@
+package com.ecommerce.cache;
+
+import com.ecommerce.config.CacheConfig;
+import com.ecommerce.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrincipalCacheEvictionListenerTest {
+
+    private Cache principals;
+    private PrincipalCacheEvictionListener listener;
+
+    @BeforeEach
+    void setUp() {
+        CacheManager cacheManager = new CacheConfig().cacheManager();
+        principals = cacheManager.getCache(CacheConfig.PRINCIPALS);
+        listener = new PrincipalCacheEvictionListener();
+        ReflectionTestUtils.setField(listener, "cacheManager", cacheManager);
+    }
+
+    @Test
+    void evict_WhenEmailChanges_ShouldEvictPreviousAndCurrentEmail() {
+        principals.put("old@example.com", "principal");
+        principals.put("new@example.com", "stale");
+        User user = new User();
+        user.setEmail("old@example.com");
+        ReflectionTestUtils.invokeMethod(user, "rememberPersistedEmail");
+        user.setEmail("new@example.com");
+
+        listener.evict(user);
+
+        assertNull(principals.get("old@example.com"));
+        assertNull(principals.get("new@example.com"));
+    }
+
+    @Test
+    void evict_WhenEmailIsUnchanged_ShouldEvictOnlyThatEmail() {
+        principals.put("ana@example.com", "principal");
+        principals.put("bia@example.com", "principal");
+        User user = new User();
+        user.setEmail("ana@example.com");
+        ReflectionTestUtils.invokeMethod(user, "rememberPersistedEmail");
+
+        listener.evict(user);
+
+        assertNull(principals.get("ana@example.com"));
+        assertNotNull(principals.get("bia@example.com"));
+    }
+}
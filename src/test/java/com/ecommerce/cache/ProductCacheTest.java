@@ -0,0 +1,107 @@
+package com.ecommerce.cache;
+
+import com.ecommerce.config.CacheConfig;
+import com.ecommerce.dto.product.ProductResponseDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductCacheTest {
+
+    private CacheManager cacheManager;
+    private ProductCache productCache;
+    private UUID productId;
+    private ProductResponseDTO product;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = new CacheConfig().cacheManager();
+        productCache = new ProductCache(cacheManager);
+
+        productId = UUID.randomUUID();
+        product = new ProductResponseDTO(productId, "Camiseta", "Dri-FIT", new BigDecimal("89.99"), "Roupas", 10, null, null);
+        cache(CacheConfig.PRODUCTS).put(productId, product);
+        cache(CacheConfig.PRODUCT_CATEGORIES).put("all", List.of("Livros", "Roupas"));
+        cachePage(ProductCache.categoryPageKey("Roupas", 0, 20, "UNSORTED"), List.of(product));
+        cachePage(ProductCache.categoryPageKey("Livros", 0, 20, "UNSORTED"), List.of());
+    }
+
+    @Test
+    void stockDecremented_ShouldEvictProductAndPagesWithProduct() {
+        productCache.stockDecremented(Map.of(productId, 3));
+
+        assertNull(cache(CacheConfig.PRODUCTS).get(productId));
+        assertNull(cache(CacheConfig.PRODUCTS_BY_CATEGORY).get(ProductCache.categoryPageKey("Roupas", 0, 20, "UNSORTED")));
+        assertNotNull(cache(CacheConfig.PRODUCTS_BY_CATEGORY).get(ProductCache.categoryPageKey("Livros", 0, 20, "UNSORTED")));
+    }
+
+    @Test
+    void productUpdated_ShouldEvictOnlyProductAndItsCategory() {
+        productCache.productUpdated(productId, "Roupas", "Roupas");
+
+        assertNull(cache(CacheConfig.PRODUCTS).get(productId));
+        assertNull(cache(CacheConfig.PRODUCTS_BY_CATEGORY).get(ProductCache.categoryPageKey("Roupas", 0, 20, "UNSORTED")));
+        assertNotNull(cache(CacheConfig.PRODUCTS_BY_CATEGORY).get(ProductCache.categoryPageKey("Livros", 0, 20, "UNSORTED")));
+        assertNotNull(cache(CacheConfig.PRODUCT_CATEGORIES).get("all"));
+    }
+
+    @Test
+    void productUpdated_WhenCategoryChanges_ShouldEvictBothCategoriesAndCategoryList() {
+        productCache.productUpdated(productId, "Roupas", "Livros");
+
+        assertNull(cache(CacheConfig.PRODUCTS_BY_CATEGORY).get(ProductCache.categoryPageKey("Roupas", 0, 20, "UNSORTED")));
+        assertNull(cache(CacheConfig.PRODUCTS_BY_CATEGORY).get(ProductCache.categoryPageKey("Livros", 0, 20, "UNSORTED")));
+        assertNull(cache(CacheConfig.PRODUCT_CATEGORIES).get("all"));
+    }
+
+    @Test
+    void productDeleted_ShouldEvictProductAndPagesContainingIt() {
+        productCache.productDeleted(productId);
+
+        assertNull(cache(CacheConfig.PRODUCTS).get(productId));
+        assertNull(cache(CacheConfig.PRODUCTS_BY_CATEGORY).get(ProductCache.categoryPageKey("Roupas", 0, 20, "UNSORTED")));
+        assertNotNull(cache(CacheConfig.PRODUCTS_BY_CATEGORY).get(ProductCache.categoryPageKey("Livros", 0, 20, "UNSORTED")));
+    }
+
+    @Test
+    void stockDecremented_ShouldEvictEveryPageOfTheProductCategory() {
+        String sorted = ProductCache.categoryPageKey("Roupas", 0, 10, "price: ASC");
+        cachePage(sorted, List.of(product));
+
+        productCache.stockDecremented(Map.of(productId, 1));
+
+        assertNull(cache(CacheConfig.PRODUCTS_BY_CATEGORY).get(sorted));
+        assertNull(cache(CacheConfig.PRODUCTS_BY_CATEGORY).get(ProductCache.categoryPageKey("Roupas", 0, 20, "UNSORTED")));
+        assertNotNull(cache(CacheConfig.PRODUCTS_BY_CATEGORY).get(ProductCache.categoryPageKey("Livros", 0, 20, "UNSORTED")));
+    }
+
+    @Test
+    void categoryPageLoaded_ShouldKeepOneIndexEntryPerProduct() {
+        for (int size = 1; size <= 50; size++) {
+            cachePage(ProductCache.categoryPageKey("Roupas", 0, size, "UNSORTED"), List.of(product));
+        }
+
+        Map<?, ?> index = (Map<?, ?>) ReflectionTestUtils.getField(productCache, "categoryByProduct");
+        assertEquals(1, index.size());
+    }
+
+    private void cachePage(String key, List<ProductResponseDTO> content) {
+        PageImpl<ProductResponseDTO> page = new PageImpl<>(content);
+        productCache.categoryPageLoaded(page);
+        cache(CacheConfig.PRODUCTS_BY_CATEGORY).put(key, page);
+    }
+
+    private Cache cache(String name) {
+        return cacheManager.getCache(name);
+    }
+}
@@ -0,0 +1,53 @@
+package com.ecommerce.entity;
+
+import com.ecommerce.repository.UuidBinary;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UuidV7GeneratorTest {
+
+    @Test
+    void next_ShouldSetVersionVariantAndTimestamp() {
+        long before = System.currentTimeMillis();
+        UUID uuid = UuidV7Generator.next();
+        long after = System.currentTimeMillis();
+
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+        long timestamp = uuid.getMostSignificantBits() >>> 16;
+        assertTrue(timestamp >= before && timestamp <= after + 1, "timestamp " + timestamp);
+    }
+
+    @Test
+    void next_ShouldBeStrictlyIncreasingAsBinary() {
+        byte[] previous = UuidBinary.toBytes(UuidV7Generator.next());
+        Set<UUID> seen = new HashSet<>();
+        for (int i = 0; i < 50_000; i++) {
+            UUID uuid = UuidV7Generator.next();
+            byte[] current = UuidBinary.toBytes(uuid);
+
+            // Mesma comparação do índice BINARY(16): bytes sem sinal
+            assertTrue(Arrays.compareUnsigned(previous, current) < 0, uuid.toString());
+            assertTrue(seen.add(uuid));
+            previous = current;
+        }
+    }
+
+    @Test
+    void uuidBinary_ShouldRoundTrip() {
+        UUID uuid = UUID.fromString("550e8400-e29b-41d4-a716-446655440001");
+
+        byte[] bytes = UuidBinary.toBytes(uuid);
+
+        assertEquals(16, bytes.length);
+        assertEquals((byte) 0x55, bytes[0]);
+        assertEquals((byte) 0x01, bytes[15]);
+        assertEquals(uuid, UuidBinary.fromBytes(bytes));
+    }
+}
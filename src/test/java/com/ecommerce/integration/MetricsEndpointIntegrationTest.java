@@ -0,0 +1,54 @@
+package com.ecommerce.integration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@AutoConfigureObservability
+@TestPropertySource(properties = {
+    "spring.security.jwt.secret=testSecretKeyForTestingPurposesOnly123456789"
+})
+class MetricsEndpointIntegrationTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    void prometheusEndpoint_ShouldExposeApplicationPoolAndHibernateMetrics() {
+        // Arrange: uma requisição qualquer para registrar http.server.requests
+        restTemplate.getForEntity("/actuator/health", String.class);
+
+        // Act
+        ResponseEntity<String> response = restTemplate.getForEntity("/actuator/prometheus", String.class);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        String body = response.getBody();
+        assertNotNull(body);
+        assertTrue(body.contains("ecommerce_orders_placed_total"));
+        assertTrue(body.contains("ecommerce_orders_paid_total"));
+        assertTrue(body.contains("ecommerce_orders_cancelled_total{"));
+        assertTrue(body.contains("http_server_requests_seconds_bucket"));
+        assertTrue(body.contains("hikaricp_connections_acquire_seconds_bucket"));
+        assertTrue(body.contains("hibernate_query_executions_total"));
+    }
+
+    @Test
+    void metricsEndpoint_WithoutAdmin_ShouldBeRejected() {
+        // Act
+        ResponseEntity<String> response = restTemplate.getForEntity("/actuator/metrics", String.class);
+
+        // Assert
+        assertTrue(response.getStatusCode().is4xxClientError());
+    }
+}
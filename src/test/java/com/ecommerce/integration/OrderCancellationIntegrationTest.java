@@ -0,0 +1,185 @@
+package com.ecommerce.integration;
+
+import com.ecommerce.dto.order.OrderRequestDTO;
+import com.ecommerce.dto.order.OrderResponseDTO;
+import com.ecommerce.entity.Product;
+import com.ecommerce.entity.User;
+import com.ecommerce.enums.OrderStatus;
+import com.ecommerce.enums.UserRole;
+import com.ecommerce.exception.InsufficientStockException;
+import com.ecommerce.repository.OrderRepository;
+import com.ecommerce.repository.ProductRepository;
+import com.ecommerce.repository.UserRepository;
+import com.ecommerce.repository.UuidBinary;
+import com.ecommerce.security.UserPrincipal;
+import com.ecommerce.service.OrderService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * O cancelamento por falta de estoque é confirmado sem as baixas de estoque e sem pedir uma
+ * segunda conexão ao pool. Pool pequeno e timeout curto: um impasse aparece como falha, não como espera de 30s.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+    "spring.datasource.url=jdbc:h2:mem:cancellation;MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+    "spring.datasource.hikari.maximum-pool-size=" + OrderCancellationIntegrationTest.POOL_SIZE,
+    "spring.datasource.hikari.connection-timeout=5000"
+})
+class OrderCancellationIntegrationTest {
+
+    static final int POOL_SIZE = 2;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+    private Product available;
+    private Product scarce;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setEmail("cancellation@example.com");
+        user.setPassword("not-used");
+        user.setName("Cancellation");
+        user.setRole(UserRole.USER);
+        user = userRepository.save(user);
+
+        available = productRepository.save(productOf("Available Product", 10));
+        scarce = productRepository.save(productOf("Scarce Product", 5));
+
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken(UserPrincipal.from(user), null, user.getAuthorities()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        orderRepository.deleteAll(orderRepository.findAll().stream()
+            .filter(order -> order.getUser().getId().equals(user.getId()))
+            .toList());
+        productRepository.deleteAllById(List.of(available.getId(), scarce.getId()));
+        userRepository.delete(user);
+    }
+
+    @Test
+    void payOrder_WhenStockIsInsufficient_ShouldPersistCancellationAndRestoreStock() {
+        // Arrange: o estoque acaba entre a criação e o pagamento
+        OrderResponseDTO order = orderService.createOrder(orderOf(2, 3));
+        jdbcTemplate.update("UPDATE products SET stock_quantity = 1 WHERE id = ?", UuidBinary.toBytes(scarce.getId()));
+
+        // Act
+        InsufficientStockException exception = assertThrows(InsufficientStockException.class, () -> orderService.payOrder(order.getId()));
+
+        // Assert
+        assertTrue(exception.getMessage().contains("Scarce Product"));
+        assertEquals(OrderStatus.CANCELLED, orderRepository.findById(order.getId()).orElseThrow().getStatus());
+        // A baixa do produto com estoque foi devolvida antes do commit
+        assertEquals(10, productRepository.findById(available.getId()).orElseThrow().getStockQuantity());
+        assertEquals(1, productRepository.findById(scarce.getId()).orElseThrow().getStockQuantity());
+    }
+
+    @Test
+    void payOrder_WhenManyPaymentsFailOnStockAtOnce_ShouldNotExhaustThePool() throws Exception {
+        // Arrange: mais pagamentos simultâneos que conexões, todos sem estoque do produto escasso
+        int payments = POOL_SIZE * 3;
+        List<OrderResponseDTO> orders = new ArrayList<>();
+        for (int i = 0; i < payments; i++) {
+            orders.add(orderService.createOrder(orderOf(1, 3)));
+        }
+        jdbcTemplate.update("UPDATE products SET stock_quantity = 1 WHERE id = ?", UuidBinary.toBytes(scarce.getId()));
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(payments);
+
+        // Act
+        List<Future<Throwable>> results = new ArrayList<>();
+        try {
+            for (OrderResponseDTO order : orders) {
+                Callable<Throwable> payment = () -> {
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                    start.await();
+                    try {
+                        orderService.payOrder(order.getId());
+                        return null;
+                    } catch (RuntimeException e) {
+                        return e;
+                    } finally {
+                        SecurityContextHolder.clearContext();
+                    }
+                };
+                results.add(executor.submit(payment));
+            }
+            start.countDown();
+
+            // Assert
+            for (Future<Throwable> result : results) {
+                assertInstanceOf(InsufficientStockException.class, result.get(30, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        for (OrderResponseDTO order : orders) {
+            assertEquals(OrderStatus.CANCELLED, orderRepository.findById(order.getId()).orElseThrow().getStatus());
+        }
+        assertEquals(10, productRepository.findById(available.getId()).orElseThrow().getStockQuantity());
+        assertEquals(1, productRepository.findById(scarce.getId()).orElseThrow().getStockQuantity());
+    }
+
+    private Product productOf(String name, int stock) {
+        Product product = new Product();
+        product.setName(name);
+        product.setDescription("Produto para o cancelamento");
+        product.setPrice(new BigDecimal("10.00"));
+        product.setCategory("Cancellation");
+        product.setStockQuantity(stock);
+        return product;
+    }
+
+    private OrderRequestDTO orderOf(int availableQuantity, int scarceQuantity) {
+        OrderRequestDTO.OrderItemRequestDTO first = new OrderRequestDTO.OrderItemRequestDTO();
+        first.setProductId(available.getId());
+        first.setQuantity(availableQuantity);
+        OrderRequestDTO.OrderItemRequestDTO second = new OrderRequestDTO.OrderItemRequestDTO();
+        second.setProductId(scarce.getId());
+        second.setQuantity(scarceQuantity);
+        OrderRequestDTO request = new OrderRequestDTO();
+        request.setItems(List.of(first, second));
+        return request;
+    }
+}
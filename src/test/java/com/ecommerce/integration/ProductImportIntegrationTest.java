@@ -0,0 +1,260 @@
+package com.ecommerce.integration;
+
+import com.ecommerce.entity.Product;
+import com.ecommerce.entity.User;
+import com.ecommerce.enums.UserRole;
+import com.ecommerce.repository.ProductRepository;
+import com.ecommerce.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+    "spring.security.jwt.secret=testSecretKeyForTestingPurposesOnly123456789",
+    // Lotes pequenos para que os arquivos dos testes atravessem mais de um batch
+    "app.products.import.batch-size=2"
+})
+class ProductImportIntegrationTest {
+
+    private static final String CATEGORY = "BulkImport";
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User admin;
+    private User customer;
+    private Product existing;
+
+    @BeforeEach
+    void setUp() {
+        admin = saveUser("import-admin@example.com", UserRole.ADMIN);
+        customer = saveUser("import-customer@example.com", UserRole.USER);
+
+        existing = new Product();
+        existing.setName("Produto Antigo");
+        existing.setDescription("Antes da importação");
+        existing.setPrice(new BigDecimal("10.00"));
+        existing.setCategory(CATEGORY);
+        existing.setStockQuantity(1);
+        existing = productRepository.save(existing);
+    }
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAll(productRepository.findByCategory(CATEGORY, Pageable.unpaged()).getContent());
+        userRepository.delete(customer);
+        userRepository.delete(admin);
+    }
+
+    @Test
+    void importCsv_ShouldUpsertValidRowsAndReportInvalidOnes() {
+        // Arrange: aquece o cache do produto que será atualizado
+        String token = login(admin);
+        assertEquals("Produto Antigo", get("/api/products/" + existing.getId(), token).getBody().get("name").asText());
+        String csv = String.join("\r\n",
+            "id,name,description,price,category,stock_quantity",
+            ",\"Cabo USB, 2m\",\"Cabo com \"\"malha\"\"\nreforçada\",19.90," + CATEGORY + ",100",
+            existing.getId() + ",Produto Atualizado,,15.50," + CATEGORY + ",7",
+            ",Sem Preço,,abc," + CATEGORY + ",1",
+            ",,Sem nome,5.00," + CATEGORY + ",1",
+            "00000000-0000-7000-8000-000000000000,Fantasma,,5.00," + CATEGORY + ",1",
+            ",Carregador,,49.00," + CATEGORY + ",3",
+            "");
+
+        // Act
+        ResponseEntity<JsonNode> response = post("/api/products/bulk?format=csv", csv, "text/csv", token);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        JsonNode result = response.getBody();
+        assertEquals(6, result.get("processed").asLong());
+        assertEquals(2, result.get("created").asLong());
+        assertEquals(1, result.get("updated").asLong());
+        assertEquals(3, result.get("failed").asLong());
+        assertTrue(result.get("rowsPerSecond").asDouble() > 0);
+
+        JsonNode errors = result.get("errors");
+        assertEquals(3, errors.size(), errors.toString());
+        // O campo com quebra de linha ocupa as linhas 2 e 3 do arquivo
+        assertEquals(5, errors.get(0).get("line").asLong());
+        assertTrue(errors.get(0).get("message").asText().contains("price"));
+        assertEquals(6, errors.get(1).get("line").asLong());
+        assertTrue(errors.get(1).get("message").asText().startsWith("name:"));
+        assertEquals(7, errors.get(2).get("line").asLong());
+        assertTrue(errors.get(2).get("message").asText().startsWith("Product not found"));
+
+        List<Product> imported = productRepository.findByCategory(CATEGORY, Pageable.unpaged()).getContent();
+        assertEquals(3, imported.size());
+        Product cable = imported.stream().filter(p -> p.getName().equals("Cabo USB, 2m")).findFirst().orElseThrow();
+        assertEquals("Cabo com \"malha\"\nreforçada", cable.getDescription());
+        assertEquals(7, cable.getId().version());
+
+        // O cache foi invalidado no fim da importação
+        JsonNode updated = get("/api/products/" + existing.getId(), token).getBody();
+        assertEquals("Produto Atualizado", updated.get("name").asText());
+        assertEquals(0, new BigDecimal("15.50").compareTo(updated.get("price").decimalValue()));
+        assertEquals(7, updated.get("stockQuantity").asInt());
+    }
+
+    @Test
+    void importNdjson_ShouldSkipMalformedLines() {
+        // Arrange
+        String ndjson = String.join("\n",
+            "{\"name\":\"Mouse\",\"price\":59.90,\"category\":\"" + CATEGORY + "\",\"stockQuantity\":10}",
+            "{\"name\":\"Teclado\",",
+            "",
+            "{\"name\":\"Monitor\",\"price\":899.00,\"category\":\"" + CATEGORY + "\",\"stockQuantity\":2}");
+
+        // Act
+        ResponseEntity<JsonNode> response = post("/api/products/bulk?format=ndjson", ndjson, "application/x-ndjson", login(admin));
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(3, response.getBody().get("processed").asLong());
+        assertEquals(2, response.getBody().get("created").asLong());
+        assertEquals(1, response.getBody().get("failed").asLong());
+        assertEquals(2, response.getBody().get("errors").get(0).get("line").asLong());
+
+        ResponseEntity<JsonNode> search = get("/api/products/search?name=Monitor", login(customer));
+        assertTrue(search.getBody().toString().contains("Monitor"), "índice de busca não foi reconstruído");
+    }
+
+    @Test
+    void importCsv_WithValuesBeyondTheColumns_ShouldFailValidation() {
+        // Arrange: VARCHAR(255) e DECIMAL(10,2)
+        String csv = String.join("\n",
+            "name,price,category,stock_quantity",
+            "x".repeat(256) + ",10.00," + CATEGORY + ",1",
+            "Caro,123456789.00," + CATEGORY + ",1",
+            "Fracionado,1.001," + CATEGORY + ",1",
+            "Válido,99999999.99," + CATEGORY + ",1");
+
+        // Act
+        ResponseEntity<JsonNode> response = post("/api/products/bulk", csv, "text/csv", login(admin));
+
+        // Assert
+        JsonNode result = response.getBody();
+        assertEquals(1, result.get("created").asLong());
+        assertEquals(3, result.get("failed").asLong());
+        JsonNode errors = result.get("errors");
+        assertTrue(errors.get(0).get("message").asText().startsWith("name:"), errors.toString());
+        assertTrue(errors.get(1).get("message").asText().startsWith("price:"), errors.toString());
+        assertTrue(errors.get(2).get("message").asText().startsWith("price:"), errors.toString());
+    }
+
+    @Test
+    void importCsv_WhenDatabaseRejectsOneRow_ShouldKeepTheRestOfItsBatch() {
+        // Arrange: regra que só o banco conhece, atingida pela segunda linha do primeiro lote
+        jdbcTemplate.execute("ALTER TABLE products ADD CONSTRAINT chk_import_test_stock CHECK (stock_quantity < 1000000)");
+        String csv = String.join("\n",
+            "name,price,category,stock_quantity",
+            "Aceito,10.00," + CATEGORY + ",1",
+            "Recusado,10.00," + CATEGORY + ",5000000",
+            "Terceiro,10.00," + CATEGORY + ",2");
+
+        try {
+            // Act
+            ResponseEntity<JsonNode> response = post("/api/products/bulk", csv, "text/csv", login(admin));
+
+            // Assert
+            JsonNode result = response.getBody();
+            assertEquals(2, result.get("created").asLong());
+            assertEquals(1, result.get("failed").asLong());
+            JsonNode errors = result.get("errors");
+            assertEquals(1, errors.size(), errors.toString());
+            assertEquals(3, errors.get(0).get("line").asLong());
+            assertTrue(errors.get(0).get("message").asText().startsWith("Rejected by the database"));
+
+            List<String> names = productRepository.findByCategory(CATEGORY, Pageable.unpaged()).getContent().stream()
+                .map(Product::getName)
+                .toList();
+            assertTrue(names.containsAll(List.of("Aceito", "Terceiro")), names.toString());
+            assertFalse(names.contains("Recusado"));
+        } finally {
+            jdbcTemplate.execute("ALTER TABLE products DROP CONSTRAINT chk_import_test_stock");
+        }
+    }
+
+    @Test
+    void importCsv_WithoutRequiredColumn_ShouldReturnBadRequest() {
+        // Act
+        ResponseEntity<JsonNode> response = post("/api/products/bulk", "name,price\nMouse,10.00\n", "text/csv", login(admin));
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertTrue(response.getBody().get("message").asText().contains("category"));
+    }
+
+    @Test
+    void import_AsUser_ShouldBeRejected() {
+        // Act
+        ResponseEntity<JsonNode> response = post("/api/products/bulk", "name,price,category,stock_quantity\n", "text/csv", login(customer));
+
+        // Assert
+        assertEquals(HttpStatus.FORBIDDEN, response.getStatusCode());
+    }
+
+    private ResponseEntity<JsonNode> post(String url, String body, String contentType, String token) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        headers.setContentType(MediaType.parseMediaType(contentType));
+        return restTemplate.exchange(url, HttpMethod.POST, new HttpEntity<>(body, headers), JsonNode.class);
+    }
+
+    private ResponseEntity<JsonNode> get(String url, String token) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        return restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers), JsonNode.class);
+    }
+
+    private String login(User user) {
+        ResponseEntity<JsonNode> response = restTemplate.postForEntity("/api/auth/login",
+            Map.of("email", user.getEmail(), "password", "password123"), JsonNode.class);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        return response.getBody().get("token").asText();
+    }
+
+    private User saveUser(String email, UserRole role) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPassword(passwordEncoder.encode("password123"));
+        user.setName(email);
+        user.setRole(role);
+        return userRepository.save(user);
+    }
+}
@@ -0,0 +1,173 @@
+package com.ecommerce.integration;
+
+import com.ecommerce.dto.order.OrderRequestDTO;
+import com.ecommerce.dto.order.OrderResponseDTO;
+import com.ecommerce.entity.Order;
+import com.ecommerce.entity.OrderItem;
+import com.ecommerce.entity.Product;
+import com.ecommerce.entity.User;
+import com.ecommerce.enums.UserRole;
+import com.ecommerce.monitoring.QueryCountHolder;
+import com.ecommerce.monitoring.QueryCountResponseAdvice;
+import com.ecommerce.monitoring.QueryStats;
+import com.ecommerce.repository.OrderRepository;
+import com.ecommerce.repository.ProductRepository;
+import com.ecommerce.repository.UserRepository;
+import com.ecommerce.security.UserPrincipal;
+import com.ecommerce.service.OrderService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Limites de consultas SQL dos fluxos de pedidos: uma regressão N+1 faz estes testes falharem.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+    "spring.security.jwt.secret=testSecretKeyForTestingPurposesOnly123456789"
+})
+class QueryCountIntegrationTest {
+
+    private static final int ORDERS = 12;
+    private static final int ITEMS_PER_ORDER = 3;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    private User user;
+    private List<Product> products;
+
+    @BeforeEach
+    void setUp() {
+        user = new User();
+        user.setEmail("query-count@example.com");
+        user.setPassword(passwordEncoder.encode("password123"));
+        user.setName("Query Count");
+        user.setRole(UserRole.USER);
+        user = userRepository.save(user);
+
+        products = new ArrayList<>();
+        for (int i = 0; i < ITEMS_PER_ORDER; i++) {
+            Product product = new Product();
+            product.setName("Query Count Product " + i);
+            product.setDescription("Produto para contagem de consultas");
+            product.setPrice(new BigDecimal("10.00"));
+            product.setCategory("QueryCount");
+            product.setStockQuantity(1000);
+            products.add(productRepository.save(product));
+        }
+
+        for (int i = 0; i < ORDERS; i++) {
+            Order order = new Order();
+            order.setUser(user);
+            order.setTotalAmount(new BigDecimal("30.00"));
+            List<OrderItem> items = new ArrayList<>();
+            for (Product product : products) {
+                items.add(new OrderItem(null, order, product, 1, product.getPrice(), product.getPrice()));
+            }
+            order.setItems(items);
+            orderRepository.save(order);
+        }
+
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken(UserPrincipal.from(user), null, user.getAuthorities()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        orderRepository.deleteAll(orderRepository.findAll().stream()
+            .filter(order -> order.getUser().getId().equals(user.getId()))
+            .toList());
+        productRepository.deleteAll(products);
+        userRepository.delete(user);
+    }
+
+    @Test
+    void getUserOrders_ShouldNotIssueQueriesPerOrder() {
+        // Act
+        QueryCountHolder.Measured<Page<OrderResponseDTO>> measured =
+            QueryCountHolder.measure(() -> orderService.getUserOrders(PageRequest.of(0, 10)));
+
+        // Assert: página de resumos + count + itens de todos os pedidos da página
+        assertEquals(10, measured.result().getContent().size());
+        assertEquals(ITEMS_PER_ORDER, measured.result().getContent().get(0).getItems().size());
+        assertTrue(measured.stats().getQueries() >= 1, "proxy de contagem inativo");
+        assertTrue(measured.stats().getQueries() <= 3, "getUserOrders: " + measured.stats());
+        assertTrue(measured.stats().getRows() >= 10 + 10 * ITEMS_PER_ORDER, "getUserOrders: " + measured.stats());
+    }
+
+    @Test
+    void createOrder_ShouldNotIssueQueriesPerProduct() {
+        // Act
+        QueryStats single = QueryCountHolder.count(() -> orderService.createOrder(orderOf(products.subList(0, 1))));
+        QueryStats basket = QueryCountHolder.count(() -> orderService.createOrder(orderOf(products)));
+
+        // Assert: um SELECT dos produtos + um batch de INSERT em orders + um batch em order_items
+        assertTrue(basket.getQueries() >= 2, "proxy de contagem inativo");
+        assertEquals(2, basket.getBatches(), "createOrder: " + basket);
+        assertEquals(single.getQueries(), basket.getQueries(), "createOrder com 1 item: " + single + " / com " + ITEMS_PER_ORDER + ": " + basket);
+    }
+
+    @Test
+    void login_InDebugMode_ShouldExposeQueryCountHeaders() {
+        // Act
+        ResponseEntity<String> response = restTemplate.postForEntity("/api/auth/login",
+            Map.of("email", user.getEmail(), "password", "password123"), String.class);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        String queryCount = response.getHeaders().getFirst(QueryCountResponseAdvice.QUERY_COUNT_HEADER);
+        assertNotNull(queryCount);
+        assertTrue(Long.parseLong(queryCount) >= 1);
+        assertNotNull(response.getHeaders().getFirst(QueryCountResponseAdvice.ROWS_FETCHED_HEADER));
+    }
+
+    private OrderRequestDTO orderOf(List<Product> basket) {
+        OrderRequestDTO request = new OrderRequestDTO();
+        List<OrderRequestDTO.OrderItemRequestDTO> items = new ArrayList<>();
+        for (Product product : basket) {
+            OrderRequestDTO.OrderItemRequestDTO item = new OrderRequestDTO.OrderItemRequestDTO();
+            item.setProductId(product.getId());
+            item.setQuantity(1);
+            items.add(item);
+        }
+        request.setItems(items);
+        return request;
+    }
+}
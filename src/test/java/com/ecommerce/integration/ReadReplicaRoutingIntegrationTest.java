@@ -0,0 +1,122 @@
+package com.ecommerce.integration;
+
+import com.ecommerce.datasource.ReplicaLagMonitor;
+import com.ecommerce.dto.report.MonthlyRevenueDTO;
+import com.ecommerce.service.ReportService;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Primário e réplica são dois bancos H2 independentes: o que só existe na réplica
+ * identifica para onde cada transação foi roteada.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+    "app.datasource.replica.enabled=true",
+    "app.datasource.replica.url=jdbc:h2:mem:replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1",
+    "app.datasource.replica.username=sa",
+    "app.datasource.replica.password=",
+    "app.datasource.replica.driver-class-name=org.h2.Driver",
+    "app.datasource.replica.max-lag-ms=5000",
+    // Verificação manual nos testes (check()); o agendamento não interfere
+    "app.datasource.replica.check-interval-ms=3600000"
+})
+class ReadReplicaRoutingIntegrationTest {
+
+    private static final int YEAR = 2019;
+    private static final int MONTH = 5;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void setUp() {
+        // Em produção o esquema chega à réplica pela replicação
+        Flyway.configure()
+            .dataSource(replicaDataSource)
+            .locations("classpath:db/migration", "classpath:db/vendor/h2")
+            .load()
+            .migrate();
+
+        replica = new JdbcTemplate(replicaDataSource);
+        replica.update("INSERT INTO monthly_revenue (revenue_year, revenue_month, slot, paid_order_count, total_revenue) VALUES (?, ?, 0, 7, 700.00)",
+            YEAR, MONTH);
+        replicaCaughtUp(0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        replica.update("DELETE FROM monthly_revenue WHERE revenue_year = ? AND revenue_month = ?", YEAR, MONTH);
+    }
+
+    @Test
+    void readOnlyTransaction_ShouldReadFromReplica() {
+        // Act
+        MonthlyRevenueDTO revenue = reportService.getMonthlyRevenue(YEAR, MONTH);
+
+        // Assert
+        assertTrue(replicaLagMonitor.isReplicaAvailable());
+        assertEquals(7L, revenue.getOrderCount());
+        assertEquals(0, new BigDecimal("700.00").compareTo(revenue.getTotalRevenue()));
+    }
+
+    @Test
+    void readWriteTransaction_ShouldUsePrimary() {
+        // Act
+        Long rows = transactionTemplate.execute(status -> jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM monthly_revenue WHERE revenue_year = ? AND revenue_month = ?", Long.class, YEAR, MONTH));
+
+        // Assert
+        assertEquals(0L, rows);
+    }
+
+    @Test
+    void replicaLag_AboveLimit_ShouldFallBackToPrimary() {
+        // Arrange: o último batimento que chegou à réplica tem 60 s
+        replicaCaughtUp(60_000);
+
+        // Act
+        MonthlyRevenueDTO revenue = reportService.getMonthlyRevenue(YEAR, MONTH);
+
+        // Assert
+        assertFalse(replicaLagMonitor.isReplicaAvailable());
+        assertTrue(replicaLagMonitor.getLagMs() >= 60_000);
+        assertEquals(0L, revenue.getOrderCount());
+    }
+
+    // Simula a replicação do batimento com o atraso informado e reavalia o monitor
+    private void replicaCaughtUp(long lagMs) {
+        replica.update("UPDATE replication_heartbeat SET beat_at_ms = ? WHERE id = 1", System.currentTimeMillis() - lagMs);
+        replicaLagMonitor.check();
+    }
+}
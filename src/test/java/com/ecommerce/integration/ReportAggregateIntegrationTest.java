@@ -0,0 +1,238 @@
+package com.ecommerce.integration;
+
+import com.ecommerce.config.ReportConfig;
+import com.ecommerce.dto.order.OrderRequestDTO;
+import com.ecommerce.dto.order.OrderResponseDTO;
+import com.ecommerce.dto.report.MonthlyRevenueDTO;
+import com.ecommerce.dto.report.TopUserDTO;
+import com.ecommerce.dto.report.UserAverageTicketDTO;
+import com.ecommerce.entity.Product;
+import com.ecommerce.entity.User;
+import com.ecommerce.enums.UserRole;
+import com.ecommerce.repository.OrderRepository;
+import com.ecommerce.repository.ProductRepository;
+import com.ecommerce.repository.ReportAggregateRepository;
+import com.ecommerce.repository.UserRepository;
+import com.ecommerce.repository.UuidBinary;
+import com.ecommerce.security.UserPrincipal;
+import com.ecommerce.service.OrderService;
+import com.ecommerce.service.ReportService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Os relatórios lidos dos agregados devem coincidir com as consultas sobre a tabela orders.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ReportAggregateIntegrationTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ReportService reportService;
+
+    @Autowired
+    private ReportConfig reportConfig;
+
+    @Autowired
+    private ReportAggregateRepository reportAggregateRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        reportAggregateRepository.rebuild();
+
+        user = new User();
+        user.setEmail("aggregates@example.com");
+        user.setPassword("not-used");
+        user.setName("Aggregates");
+        user.setRole(UserRole.USER);
+        user = userRepository.save(user);
+
+        product = new Product();
+        product.setName("Aggregate Product");
+        product.setDescription("Produto para os agregados");
+        product.setPrice(new BigDecimal("1000.00"));
+        product.setCategory("Aggregates");
+        product.setStockQuantity(100);
+        product = productRepository.save(product);
+
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken(UserPrincipal.from(user), null, user.getAuthorities()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        reportConfig.setUseAggregates(true);
+        jdbcTemplate.update("DELETE FROM user_order_stats WHERE user_id = ?", UuidBinary.toBytes(user.getId()));
+        orderRepository.deleteAll(orderRepository.findAll().stream()
+            .filter(order -> order.getUser().getId().equals(user.getId()))
+            .toList());
+        productRepository.deleteById(product.getId());
+        userRepository.delete(user);
+        reportAggregateRepository.rebuild();
+    }
+
+    @Test
+    void payOrder_ShouldUpdateAggregatesConsistentlyWithLiveQueries() {
+        // Arrange
+        OrderResponseDTO first = orderService.createOrder(orderOf(2));
+        OrderResponseDTO second = orderService.createOrder(orderOf(1));
+
+        // Act
+        orderService.payOrder(first.getId());
+        orderService.payOrder(second.getId());
+
+        // Assert
+        TopUserDTO top = reportService.getTop5UsersByPurchases().get(0);
+        assertEquals(user.getId(), top.getUserId());
+        assertEquals(2L, top.getOrderCount());
+        assertEquals(0, new BigDecimal("3000.00").compareTo(top.getTotalSpent()));
+
+        assertSameReports();
+    }
+
+    @Test
+    void rebuild_ShouldMatchIncrementalAggregates() {
+        // Arrange
+        OrderResponseDTO order = orderService.createOrder(orderOf(3));
+        orderService.payOrder(order.getId());
+        MonthlyRevenueDTO incremental = reportService.getMonthlyRevenue(YearMonth.now().getYear(), YearMonth.now().getMonthValue());
+
+        // Act
+        reportAggregateRepository.rebuild();
+
+        // Assert
+        MonthlyRevenueDTO rebuilt = reportService.getMonthlyRevenue(YearMonth.now().getYear(), YearMonth.now().getMonthValue());
+        assertEquals(0, incremental.getTotalRevenue().compareTo(rebuilt.getTotalRevenue()));
+        assertEquals(incremental.getOrderCount(), rebuilt.getOrderCount());
+        assertSameReports();
+    }
+
+    @Test
+    void getRevenueSeries_ShouldCountOrdersInTheLastSecondOfTheMonth() {
+        // Arrange: pedido pago às 23:59:59.5, que o antigo limite 23:59:59 descartava
+        OrderResponseDTO order = orderService.createOrder(orderOf(1));
+        orderService.payOrder(order.getId());
+        jdbcTemplate.update("UPDATE orders SET created_at = ? WHERE id = ?",
+            LocalDateTime.of(2023, 1, 31, 23, 59, 59, 500_000_000), UuidBinary.toBytes(order.getId()));
+        reportAggregateRepository.rebuild();
+
+        // Act
+        List<MonthlyRevenueDTO> live = withAggregates(false,
+            () -> reportService.getRevenueSeries(YearMonth.of(2023, 1), YearMonth.of(2023, 2)));
+        List<MonthlyRevenueDTO> aggregated = withAggregates(true,
+            () -> reportService.getRevenueSeries(YearMonth.of(2023, 1), YearMonth.of(2023, 2)));
+
+        // Assert
+        for (List<MonthlyRevenueDTO> series : List.of(live, aggregated)) {
+            assertEquals(2, series.size());
+            assertEquals(1L, series.get(0).getOrderCount());
+            assertEquals(0, new BigDecimal("1000.00").compareTo(series.get(0).getTotalRevenue()));
+            assertEquals(0L, series.get(1).getOrderCount());
+        }
+    }
+
+    private void assertSameReports() {
+        YearMonth month = YearMonth.now();
+        MonthlyRevenueDTO aggregated = withAggregates(true, () -> reportService.getMonthlyRevenue(month.getYear(), month.getMonthValue()));
+        MonthlyRevenueDTO live = withAggregates(false, () -> reportService.getMonthlyRevenue(month.getYear(), month.getMonthValue()));
+        assertEquals(0, live.getTotalRevenue().compareTo(aggregated.getTotalRevenue()));
+        assertEquals(live.getOrderCount(), aggregated.getOrderCount());
+
+        List<TopUserDTO> aggregatedTop = withAggregates(true, reportService::getTop5UsersByPurchases);
+        List<TopUserDTO> liveTop = withAggregates(false, reportService::getTop5UsersByPurchases);
+        assertEquals(liveTop.stream().map(TopUserDTO::getEmail).toList(), aggregatedTop.stream().map(TopUserDTO::getEmail).toList());
+
+        List<UserAverageTicketDTO> aggregatedTickets = withAggregates(true, () -> allAverageTickets(1, null));
+        List<UserAverageTicketDTO> liveTickets = withAggregates(false, () -> allAverageTickets(1, null));
+        assertEquals(liveTickets.size(), aggregatedTickets.size());
+        for (int i = 0; i < liveTickets.size(); i++) {
+            assertEquals(liveTickets.get(i).getEmail(), aggregatedTickets.get(i).getEmail());
+            assertEquals(0, liveTickets.get(i).getAverageTicket().compareTo(aggregatedTickets.get(i).getAverageTicket()));
+        }
+    }
+
+    @Test
+    void getUserAverageTickets_ShouldApplyMinOrdersAndTopInBothPaths() {
+        // Arrange: 2 pedidos pagos de 1000 e 3000 -> ticket médio exato de 2000.00
+        OrderResponseDTO first = orderService.createOrder(orderOf(1));
+        OrderResponseDTO second = orderService.createOrder(orderOf(3));
+        orderService.payOrder(first.getId());
+        orderService.payOrder(second.getId());
+
+        for (boolean useAggregates : new boolean[] {true, false}) {
+            // Act
+            List<UserAverageTicketDTO> withTwoOrders = withAggregates(useAggregates, () -> allAverageTickets(2, null));
+            List<UserAverageTicketDTO> withThreeOrders = withAggregates(useAggregates, () -> allAverageTickets(3, null));
+            Page<UserAverageTicketDTO> topOne = withAggregates(useAggregates,
+                () -> reportService.getUserAverageTickets(1, 1, PageRequest.of(0, 10)));
+
+            // Assert
+            UserAverageTicketDTO ticket = withTwoOrders.stream()
+                .filter(dto -> dto.getEmail().equals(user.getEmail()))
+                .findFirst()
+                .orElseThrow();
+            assertEquals(new BigDecimal("2000.00"), ticket.getAverageTicket());
+            assertTrue(withThreeOrders.stream().noneMatch(dto -> dto.getEmail().equals(user.getEmail())));
+            assertEquals(1, topOne.getNumberOfElements());
+            assertEquals(1, topOne.getTotalElements());
+        }
+    }
+
+    private List<UserAverageTicketDTO> allAverageTickets(int minOrders, Integer top) {
+        return reportService.getUserAverageTickets(minOrders, top, PageRequest.of(0, 1000)).getContent();
+    }
+
+    private <T> T withAggregates(boolean useAggregates, Supplier<T> report) {
+        reportConfig.setUseAggregates(useAggregates);
+        try {
+            return report.get();
+        } finally {
+            reportConfig.setUseAggregates(true);
+        }
+    }
+
+    private OrderRequestDTO orderOf(int quantity) {
+        OrderRequestDTO.OrderItemRequestDTO item = new OrderRequestDTO.OrderItemRequestDTO();
+        item.setProductId(product.getId());
+        item.setQuantity(quantity);
+        OrderRequestDTO request = new OrderRequestDTO();
+        request.setItems(List.of(item));
+        return request;
+    }
+}
@@ -0,0 +1,182 @@
+package com.ecommerce.integration;
+
+import com.ecommerce.entity.Order;
+import com.ecommerce.entity.User;
+import com.ecommerce.enums.OrderStatus;
+import com.ecommerce.enums.UserRole;
+import com.ecommerce.repository.OrderRepository;
+import com.ecommerce.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+    "spring.security.jwt.secret=testSecretKeyForTestingPurposesOnly123456789"
+})
+class ReportExportIntegrationTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private User admin;
+    private User customer;
+    private List<Order> orders;
+
+    @BeforeEach
+    void setUp() {
+        admin = saveUser("export-admin@example.com", "Export Admin", UserRole.ADMIN);
+        customer = saveUser("export-customer@example.com", "Silva, \"Ana\"", UserRole.USER);
+
+        orders = new ArrayList<>();
+        orders.add(saveOrder(new BigDecimal("100.00"), OrderStatus.PAID));
+        orders.add(saveOrder(new BigDecimal("50.00"), OrderStatus.PAID));
+        orders.add(saveOrder(new BigDecimal("999.00"), OrderStatus.PENDING));
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderRepository.deleteAll(orders);
+        userRepository.delete(customer);
+        userRepository.delete(admin);
+    }
+
+    @Test
+    void exportOrders_AsCsv_ShouldStreamEveryOrder() {
+        // Act
+        ResponseEntity<byte[]> response = get("/api/reports/export/orders?format=csv", login(admin));
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(response.getHeaders().getContentDisposition().toString().contains("orders.csv"));
+        String body = new String(response.getBody(), StandardCharsets.UTF_8);
+        String[] lines = body.split("\r\n");
+        assertEquals("order_id,user_id,user_email,status,total_amount,created_at,updated_at", lines[0]);
+        for (Order order : orders) {
+            assertTrue(body.contains(order.getId() + "," + customer.getId() + ",export-customer@example.com,"
+                + order.getStatus() + "," + order.getTotalAmount().toPlainString()), body);
+        }
+    }
+
+    @Test
+    void exportUserTickets_AsGzippedNdjson_ShouldContainPaidOrdersOnly() throws IOException {
+        // Act
+        ResponseEntity<byte[]> response = get("/api/reports/export/average-tickets?format=ndjson&gzip=true", login(admin));
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("application/gzip", response.getHeaders().getContentType().toString());
+        String body;
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(response.getBody()))) {
+            body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        JsonNode row = null;
+        for (String line : body.split("\n")) {
+            JsonNode node = objectMapper.readTree(line);
+            if (customer.getId().toString().equals(node.get("user_id").asText())) {
+                row = node;
+            }
+        }
+        assertNotNull(row, body);
+        assertEquals("Silva, \"Ana\"", row.get("name").asText());
+        assertEquals(2, row.get("paid_orders").asLong());
+        assertEquals(0, new BigDecimal("150.00").compareTo(row.get("total_spent").decimalValue()));
+        assertEquals(0, new BigDecimal("75.00").compareTo(row.get("average_ticket").decimalValue()));
+    }
+
+    @Test
+    void exportUserTickets_AsCsv_ShouldQuoteSpecialCharacters() {
+        // Act
+        ResponseEntity<byte[]> response = get("/api/reports/export/average-tickets", login(admin));
+
+        // Assert
+        String body = new String(response.getBody(), StandardCharsets.UTF_8);
+        assertTrue(body.contains(customer.getId() + ",export-customer@example.com,\"Silva, \"\"Ana\"\"\",2,150.00,75.00\r\n"), body);
+    }
+
+    @Test
+    void export_WithUnknownFormat_ShouldReturnBadRequest() {
+        // Act
+        ResponseEntity<byte[]> response = get("/api/reports/export/orders?format=xml", login(admin));
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
+    @Test
+    void export_AsUser_ShouldBeRejected() {
+        // Act
+        ResponseEntity<byte[]> response = get("/api/reports/export/orders", login(customer));
+
+        // Assert
+        assertTrue(response.getStatusCode().is4xxClientError());
+    }
+
+    private ResponseEntity<byte[]> get(String url, String token) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        return restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers), byte[].class);
+    }
+
+    private String login(User user) {
+        ResponseEntity<JsonNode> response = restTemplate.postForEntity("/api/auth/login",
+            Map.of("email", user.getEmail(), "password", "password123"), JsonNode.class);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        return response.getBody().get("token").asText();
+    }
+
+    private User saveUser(String email, String name, UserRole role) {
+        User user = new User();
+        user.setEmail(email);
+        user.setPassword(passwordEncoder.encode("password123"));
+        user.setName(name);
+        user.setRole(role);
+        return userRepository.save(user);
+    }
+
+    private Order saveOrder(BigDecimal totalAmount, OrderStatus status) {
+        Order order = new Order();
+        order.setUser(customer);
+        order.setTotalAmount(totalAmount);
+        order.setStatus(status);
+        order.setItems(new ArrayList<>());
+        return orderRepository.save(order);
+    }
+}
@@ -0,0 +1,153 @@
+package com.ecommerce.integration;
+
+import com.ecommerce.dto.report.ReportJobDTO;
+import com.ecommerce.dto.report.ReportJobRequestDTO;
+import com.ecommerce.entity.User;
+import com.ecommerce.enums.ReportJobStatus;
+import com.ecommerce.enums.ReportType;
+import com.ecommerce.enums.UserRole;
+import com.ecommerce.monitoring.QueryCountHolder;
+import com.ecommerce.repository.UserRepository;
+import com.ecommerce.service.ReportJobService;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+    "spring.security.jwt.secret=testSecretKeyForTestingPurposesOnly123456789"
+})
+class ReportJobIntegrationTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private ReportJobService reportJobService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private User admin;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        admin = new User();
+        admin.setEmail("report-jobs@example.com");
+        admin.setPassword(passwordEncoder.encode("password123"));
+        admin.setName("Report Jobs");
+        admin.setRole(UserRole.ADMIN);
+        admin = userRepository.save(admin);
+
+        ResponseEntity<JsonNode> login = restTemplate.postForEntity("/api/auth/login",
+            Map.of("email", admin.getEmail(), "password", "password123"), JsonNode.class);
+        token = login.getBody().get("token").asText();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.delete(admin);
+    }
+
+    @Test
+    void submitJob_ShouldRunInBackgroundAndServeResult() throws InterruptedException {
+        // Act
+        ResponseEntity<JsonNode> submitted = exchange(HttpMethod.POST, "/api/reports/jobs",
+            Map.of("type", "REVENUE_SERIES", "params", Map.of("from", "2021-01", "to", "2021-03")));
+
+        // Assert
+        assertTrue(submitted.getStatusCode() == HttpStatus.ACCEPTED || submitted.getStatusCode() == HttpStatus.OK);
+        String id = submitted.getBody().get("id").asText();
+        assertEquals("/api/reports/jobs/" + id, submitted.getHeaders().getLocation().toString());
+
+        JsonNode job = awaitCompletion(id);
+        assertEquals(3, job.get("result").size());
+        assertEquals("2021-01", job.get("params").get("from").asText());
+    }
+
+    @Test
+    void submitJob_WithSameParameters_ShouldReuseCachedResultWithoutQueries() throws InterruptedException {
+        // Arrange
+        ReportJobDTO first = reportJobService.submit(request(ReportType.MONTHLY_REVENUE, Map.of("year", "2020", "month", "6")));
+        awaitCompletion(first.getId().toString());
+
+        // Act: parâmetros equivalentes (mês com zero à esquerda) compõem a mesma chave
+        QueryCountHolder.Measured<ReportJobDTO> measured = QueryCountHolder.measure(() ->
+            reportJobService.submit(request(ReportType.MONTHLY_REVENUE, Map.of("year", "2020", "month", "06"))));
+
+        // Assert
+        ReportJobDTO second = measured.result();
+        assertEquals(0, measured.stats().getQueries());
+        assertEquals(first.getId(), second.getId());
+        assertEquals(ReportJobStatus.COMPLETED, second.getStatus());
+        assertNotNull(second.getResult());
+    }
+
+    @Test
+    void submitJob_WithInvalidParameters_ShouldReturnBadRequest() {
+        // Act
+        ResponseEntity<JsonNode> response = exchange(HttpMethod.POST, "/api/reports/jobs",
+            Map.of("type", "MONTHLY_REVENUE", "params", Map.of("year", "2024", "month", "13")));
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
+    @Test
+    void getJob_WithUnknownId_ShouldReturnBadRequest() {
+        // Act
+        ResponseEntity<JsonNode> response = exchange(HttpMethod.GET, "/api/reports/jobs/" + UUID.randomUUID(), null);
+
+        // Assert
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
+    private JsonNode awaitCompletion(String id) throws InterruptedException {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            ResponseEntity<JsonNode> response = exchange(HttpMethod.GET, "/api/reports/jobs/" + id, null);
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            String status = response.getBody().get("status").asText();
+            assertNotEquals(ReportJobStatus.FAILED.name(), status, response.getBody().toString());
+            if (ReportJobStatus.COMPLETED.name().equals(status)) {
+                return response.getBody();
+            }
+            Thread.sleep(50);
+        }
+        return fail("Job " + id + " did not complete");
+    }
+
+    private ResponseEntity<JsonNode> exchange(HttpMethod method, String url, Object body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token);
+        return restTemplate.exchange(url, method, new HttpEntity<>(body, headers), JsonNode.class);
+    }
+
+    private ReportJobRequestDTO request(ReportType type, Map<String, String> params) {
+        ReportJobRequestDTO request = new ReportJobRequestDTO();
+        request.setType(type);
+        request.setParams(params);
+        return request;
+    }
+}
@@ -0,0 +1,106 @@
+package com.ecommerce.integration;
+
+import com.ecommerce.entity.User;
+import com.ecommerce.enums.UserRole;
+import com.ecommerce.repository.UserRepository;
+import com.ecommerce.repository.UuidBinary;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SchemaIndexIntegrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void migrations_ShouldCreateHotPathIndexes() {
+        List<String> indexes = jdbcTemplate.queryForList(
+            "SELECT LOWER(index_name) FROM information_schema.indexes WHERE LOWER(table_name) IN ('orders', 'products', 'order_items')",
+            String.class);
+
+        assertTrue(indexes.containsAll(List.of(
+            "idx_orders_user_created",
+            "idx_orders_status_created",
+            "idx_orders_status_user",
+            "idx_category",
+            "idx_name",
+            "idx_order_id")), "Missing indexes, found: " + indexes);
+        assertFalse(indexes.contains("idx_status"));
+    }
+
+    @Test
+    void orderHistoryQuery_ShouldUseUserCreatedIndex() {
+        String plan = explain("""
+            SELECT id, status, total_amount, created_at FROM orders
+            WHERE user_id = X'550e8400e29b41d4a716446655440001'
+            AND created_at < TIMESTAMP '2025-01-01 00:00:00'
+            ORDER BY created_at DESC, id DESC
+            """);
+
+        assertTrue(plan.contains("idx_orders_user_created"), plan);
+    }
+
+    @Test
+    void revenueByPeriodQuery_ShouldUseStatusCreatedIndex() {
+        String plan = explain("""
+            SELECT SUM(total_amount), COUNT(id) FROM orders
+            WHERE status = 'PAID'
+            AND created_at >= TIMESTAMP '2025-01-01 00:00:00'
+            AND created_at < TIMESTAMP '2025-02-01 00:00:00'
+            """);
+
+        assertTrue(plan.contains("idx_orders_status_created"), plan);
+    }
+
+    @Test
+    void productCategoryQuery_ShouldUseCategoryIndex() {
+        String plan = explain("SELECT id, name FROM products WHERE category = 'Livros'");
+
+        assertTrue(plan.contains("idx_category"), plan);
+    }
+
+    @Test
+    void orderItemsByOrderQuery_ShouldUseOrderIdIndex() {
+        String plan = explain("""
+            SELECT id, quantity, unit_price FROM order_items
+            WHERE order_id IN (X'770e8400e29b41d4a716446655440000', X'770e8400e29b41d4a716446655440001')
+            """);
+
+        // O H2 cria um índice próprio para a FK order_id; basta garantir que não há table scan
+        assertFalse(plan.contains("tablescan"), plan);
+    }
+
+    @Test
+    void persistedEntity_ShouldGetUuidV7StoredAsBinary() {
+        User user = new User();
+        user.setEmail("uuid-v7@example.com");
+        user.setPassword("x");
+        user.setName("UUID v7");
+        user.setRole(UserRole.USER);
+        user = userRepository.save(user);
+
+        try {
+            assertEquals(7, user.getId().version());
+            byte[] stored = jdbcTemplate.queryForObject("SELECT id FROM users WHERE email = ?", byte[].class, user.getEmail());
+            assertEquals(user.getId(), UuidBinary.fromBytes(stored));
+        } finally {
+            userRepository.delete(user);
+        }
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class).toLowerCase();
+    }
+}
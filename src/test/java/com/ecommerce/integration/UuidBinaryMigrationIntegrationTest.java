@@ -0,0 +1,117 @@
+package com.ecommerce.integration;
+
+import com.ecommerce.repository.UuidBinary;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationVersion;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * V6 sobre um banco com dados em CHAR(36): as chaves e referências são convertidas sem perda.
+ * Também cobre o preenchimento de order_items.product_name pela V7.
+ * Banco H2 próprio, sem contexto Spring, migrado até a V5 antes de inserir os dados.
+ */
+class UuidBinaryMigrationIntegrationTest {
+
+    private static final UUID USER_ID = UUID.fromString("550e8400-e29b-41d4-a716-446655440001");
+    private static final UUID PRODUCT_ID = UUID.fromString("660e8400-e29b-41d4-a716-446655440001");
+    private static final UUID ORDER_ID = UUID.fromString("770e8400-e29b-41d4-a716-446655440001");
+    private static final UUID ITEM_ID = UUID.fromString("880e8400-e29b-41d4-a716-446655440001");
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new SingleConnectionDataSource(
+            "jdbc:h2:mem:uuid_migration;MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE", "sa", "", true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        flyway(MigrationVersion.fromVersion("5")).migrate();
+
+        jdbcTemplate.update("INSERT INTO users (id, email, password, name, role) VALUES (?, 'ana@example.com', 'x', 'Ana', 'USER')",
+            USER_ID.toString());
+        jdbcTemplate.update("INSERT INTO products (id, name, price, category, stock_quantity) VALUES (?, 'Livro', 10.00, 'Livros', 5)",
+            PRODUCT_ID.toString());
+        jdbcTemplate.update("INSERT INTO orders (id, user_id, status, total_amount) VALUES (?, ?, 'PAID', 20.00)",
+            ORDER_ID.toString(), USER_ID.toString());
+        jdbcTemplate.update("INSERT INTO order_items (id, order_id, product_id, quantity, unit_price, total_price) VALUES (?, ?, ?, 2, 10.00, 20.00)",
+            ITEM_ID.toString(), ORDER_ID.toString(), PRODUCT_ID.toString());
+        jdbcTemplate.update("INSERT INTO user_order_stats (user_id, paid_order_count, paid_total) VALUES (?, 1, 20.00)",
+            USER_ID.toString());
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+        dataSource.destroy();
+    }
+
+    @Test
+    void migrate_ShouldConvertKeysAndReferencesToBinary() {
+        // Act
+        flyway(MigrationVersion.LATEST).migrate();
+
+        // Assert
+        UUID itemOrderId = jdbcTemplate.queryForObject("SELECT order_id FROM order_items WHERE id = ?",
+            (rs, rowNum) -> UuidBinary.fromBytes(rs.getBytes(1)), UuidBinary.toBytes(ITEM_ID));
+        assertEquals(ORDER_ID, itemOrderId);
+
+        String email = jdbcTemplate.queryForObject("""
+            SELECT u.email FROM orders o
+            JOIN users u ON u.id = o.user_id
+            JOIN order_items i ON i.order_id = o.id
+            JOIN products p ON p.id = i.product_id
+            WHERE o.id = ?
+            """, String.class, UuidBinary.toBytes(ORDER_ID));
+        assertEquals("ana@example.com", email);
+
+        BigDecimal paidTotal = jdbcTemplate.queryForObject("SELECT paid_total FROM user_order_stats WHERE user_id = ?",
+            BigDecimal.class, UuidBinary.toBytes(USER_ID));
+        assertEquals(0, new BigDecimal("20.00").compareTo(paidTotal));
+
+        String idType = jdbcTemplate.queryForObject(
+            "SELECT data_type FROM information_schema.columns WHERE table_name = 'orders' AND column_name = 'user_id'", String.class);
+        assertEquals("BINARY", idType.toUpperCase());
+    }
+
+    @Test
+    void migrate_ShouldKeepForeignKeys() {
+        // Arrange
+        flyway(MigrationVersion.LATEST).migrate();
+
+        // Act & Assert
+        assertThrows(RuntimeException.class, () -> jdbcTemplate.update(
+            "INSERT INTO orders (id, user_id, status, total_amount) VALUES (?, ?, 'PENDING', 1.00)",
+            UuidBinary.toBytes(UUID.randomUUID()), UuidBinary.toBytes(UUID.randomUUID())));
+
+        jdbcTemplate.update("DELETE FROM orders WHERE id = ?", UuidBinary.toBytes(ORDER_ID));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM order_items", Integer.class));
+    }
+
+    @Test
+    void migrate_ShouldBackfillOrderItemProductName() {
+        // Act
+        flyway(MigrationVersion.LATEST).migrate();
+
+        // Assert: V7 copia o nome atual do produto para os itens já existentes
+        String productName = jdbcTemplate.queryForObject("SELECT product_name FROM order_items WHERE id = ?",
+            String.class, UuidBinary.toBytes(ITEM_ID));
+        assertEquals("Livro", productName);
+    }
+
+    private Flyway flyway(MigrationVersion target) {
+        return Flyway.configure()
+            .dataSource(dataSource)
+            .locations("classpath:db/migration", "classpath:db/vendor/h2")
+            .target(target)
+            .load();
+    }
+}
@@ -0,0 +1,77 @@
+package com.ecommerce.integration;
+
+import com.ecommerce.threads.ConcurrencyLimitFilter;
+import com.ecommerce.threads.PinnedThreadMonitor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Modo virtual threads: só roda em Java 21+, onde spring.threads.virtual.enabled tem efeito.
+ */
+@EnabledForJreRange(min = JRE.JAVA_21)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+    "spring.security.jwt.secret=testSecretKeyForTestingPurposesOnly123456789",
+    "spring.threads.virtual.enabled=true",
+    "app.virtual-threads.max-concurrent-requests=1",
+    "app.virtual-threads.acquire-timeout-ms=0"
+})
+class VirtualThreadIntegrationTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter;
+
+    @Autowired
+    private PinnedThreadMonitor pinnedThreadMonitor;
+
+    @Test
+    void request_WithinLimit_ShouldReachSecurityChain() {
+        // Act
+        ResponseEntity<String> response = restTemplate.getForEntity("/api/products", String.class);
+
+        // Assert: sem token, quem responde é o Spring Security (o limite deixou passar)
+        assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
+        assertNotNull(pinnedThreadMonitor);
+        assertEquals(0, concurrencyLimitFilter.getFilter().getActiveRequests());
+    }
+
+    @Test
+    void request_WhenLimitIsTaken_ShouldReturnServiceUnavailable() throws Exception {
+        // Arrange: a única vaga fica ocupada enquanto as requisições abaixo são feitas
+        ConcurrencyLimitFilter filter = concurrencyLimitFilter.getFilter();
+        List<ResponseEntity<String>> responses = new ArrayList<>();
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/products"), new MockHttpServletResponse(), (request, response) -> {
+            responses.add(restTemplate.getForEntity("/api/products", String.class));
+            responses.add(restTemplate.getForEntity("/actuator/health", String.class));
+        });
+
+        // Assert
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, responses.get(0).getStatusCode());
+        assertEquals("1", responses.get(0).getHeaders().getFirst("Retry-After"));
+        assertTrue(responses.get(0).getBody().contains("Server busy"));
+        assertEquals(HttpStatus.OK, responses.get(1).getStatusCode());
+        assertEquals(0, filter.getActiveRequests());
+    }
+}
@@ -0,0 +1,120 @@
+package com.ecommerce.search;
+
+import com.ecommerce.entity.Product;
+import com.ecommerce.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class InMemoryProductSearchEngineTest {
+
+    private InMemoryProductSearchEngine searchEngine;
+    private Product smartphone;
+    private Product notebook;
+    private Product book;
+
+    @BeforeEach
+    void setUp() {
+        searchEngine = new InMemoryProductSearchEngine();
+        smartphone = product("Smartphone Samsung Galaxy S23", "Smartphone avançado com tela AMOLED", "Eletrônicos");
+        notebook = product("Notebook Dell Inspiron 15", "Notebook para uso profissional", "Eletrônicos");
+        book = product("Livro Spring Boot em Ação", "Guia completo para Spring Boot e notebooks", "Livros");
+        searchEngine.index(smartphone);
+        searchEngine.index(notebook);
+        searchEngine.index(book);
+    }
+
+    @Test
+    void search_ShouldIgnoreCaseAndAccents() {
+        Page<UUID> result = searchEngine.search("ELETRONICOS", PageRequest.of(0, 10));
+
+        assertEquals(2, result.getTotalElements());
+        assertTrue(result.getContent().containsAll(List.of(smartphone.getId(), notebook.getId())));
+    }
+
+    @Test
+    void search_ShouldMatchByPrefix() {
+        Page<UUID> result = searchEngine.search("galax", PageRequest.of(0, 10));
+
+        assertEquals(List.of(smartphone.getId()), result.getContent());
+    }
+
+    @Test
+    void search_ShouldRankNameMatchesAboveDescriptionMatches() {
+        Page<UUID> result = searchEngine.search("notebook", PageRequest.of(0, 10));
+
+        assertEquals(List.of(notebook.getId(), book.getId()), result.getContent());
+    }
+
+    @Test
+    void search_ShouldRequireAllTerms() {
+        Page<UUID> result = searchEngine.search("spring dell", PageRequest.of(0, 10));
+
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    void search_ShouldPaginateRankedResults() {
+        Page<UUID> result = searchEngine.search("notebook", PageRequest.of(1, 1));
+
+        assertEquals(2, result.getTotalElements());
+        assertEquals(List.of(book.getId()), result.getContent());
+    }
+
+    @Test
+    void index_WhenProductIsUpdated_ShouldReplaceOldTerms() {
+        notebook.setName("Ultrabook Dell XPS");
+        searchEngine.index(notebook);
+
+        assertFalse(searchEngine.search("inspiron", PageRequest.of(0, 10)).getContent().contains(notebook.getId()));
+        assertEquals(List.of(notebook.getId()), searchEngine.search("xps", PageRequest.of(0, 10)).getContent());
+    }
+
+    @Test
+    void remove_ShouldDropProductFromResults() {
+        searchEngine.remove(smartphone.getId());
+
+        assertTrue(searchEngine.search("samsung", PageRequest.of(0, 10)).isEmpty());
+    }
+
+    @Test
+    void rebuild_ShouldKeepServingOldIndexAndKeepChangesMadeDuringTheLoad() {
+        ProductRepository productRepository = mock(ProductRepository.class);
+        ReflectionTestUtils.setField(searchEngine, "productRepository", productRepository);
+        Product tablet = product("Tablet Samsung Tab", "Tablet Android", "Eletrônicos");
+        when(productRepository.findAll(any(Pageable.class))).thenAnswer(invocation -> {
+            // Durante a carga o índice anterior continua respondendo
+            assertEquals(List.of(smartphone.getId()), searchEngine.search("galaxy", PageRequest.of(0, 10)).getContent());
+            searchEngine.index(tablet);
+            searchEngine.remove(book.getId());
+            return new PageImpl<>(List.of(smartphone, notebook, book), invocation.getArgument(0), 3);
+        });
+
+        searchEngine.rebuild();
+
+        assertEquals(List.of(smartphone.getId()), searchEngine.search("galaxy", PageRequest.of(0, 10)).getContent());
+        assertEquals(List.of(tablet.getId()), searchEngine.search("tablet", PageRequest.of(0, 10)).getContent());
+        assertTrue(searchEngine.search("livro", PageRequest.of(0, 10)).isEmpty());
+    }
+
+    private Product product(String name, String description, String category) {
+        Product product = new Product();
+        product.setId(UUID.randomUUID());
+        product.setName(name);
+        product.setDescription(description);
+        product.setCategory(category);
+        return product;
+    }
+}
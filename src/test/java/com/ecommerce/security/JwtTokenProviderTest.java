@@ -0,0 +1,75 @@
+package com.ecommerce.security;
+
+import com.ecommerce.config.JwtConfig;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtTokenProviderTest {
+    
+    private JwtConfig jwtConfig;
+    private JwtTokenProvider tokenProvider;
+    private UsernamePasswordAuthenticationToken authentication;
+    
+    @BeforeEach
+    void setUp() {
+        jwtConfig = new JwtConfig();
+        tokenProvider = new JwtTokenProvider(jwtConfig);
+        
+        UserDetails user = User.withUsername("test@example.com")
+                .password("ignored")
+                .authorities(List.of())
+                .build();
+        authentication = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+    }
+    
+    @Test
+    void parseClaims_ValidToken_ReturnsSubject() {
+        // Arrange
+        String token = tokenProvider.generateToken(authentication);
+        
+        // Act
+        Optional<Claims> claims = tokenProvider.parseClaims(token);
+        
+        // Assert
+        assertTrue(claims.isPresent());
+        assertEquals("test@example.com", claims.get().getSubject());
+        assertTrue(tokenProvider.validateToken(token));
+        assertEquals("test@example.com", tokenProvider.getUsernameFromToken(token));
+    }
+    
+    @Test
+    void parseClaims_TamperedToken_ReturnsEmpty() {
+        // Arrange
+        String token = tokenProvider.generateToken(authentication);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+        
+        // Act & Assert
+        assertTrue(tokenProvider.parseClaims(tampered).isEmpty());
+        assertFalse(tokenProvider.validateToken(tampered));
+    }
+    
+    @Test
+    void parseClaims_ExpiredToken_ReturnsEmpty() {
+        // Arrange
+        jwtConfig.setExpirationMs(-1000);
+        String token = tokenProvider.generateToken(authentication);
+        
+        // Act & Assert
+        assertTrue(tokenProvider.parseClaims(token).isEmpty());
+    }
+    
+    @Test
+    void parseClaims_Malformed_ReturnsEmpty() {
+        assertTrue(tokenProvider.parseClaims("not-a-jwt").isEmpty());
+        assertTrue(tokenProvider.parseClaims("").isEmpty());
+    }
+}
@@ -7,6 +7,7 @@ import com.ecommerce.entity.User;
 import com.ecommerce.enums.UserRole;
 import com.ecommerce.repository.UserRepository;
 import com.ecommerce.security.JwtTokenProvider;
+import com.ecommerce.security.UserPrincipal;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -162,7 +163,9 @@ class AuthServiceTest {
         UserDetails result = authService.loadUserByUsername("test@example.com");
 
         // Assert
-        assertNotNull(result);
+        UserPrincipal principal = assertInstanceOf(UserPrincipal.class, result);
+        assertEquals(user.getId(), principal.getId());
+        assertEquals(user.getRole(), principal.getRole());
         assertEquals(user.getEmail(), result.getUsername());
         assertEquals(user.getPassword(), result.getPassword());
         assertTrue(result.isEnabled());
@@ -0,0 +1,45 @@
+package com.ecommerce.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvRecordReaderTest {
+
+    @Test
+    void next_ShouldHandleQuotesEscapesAndEmbeddedLineBreaks() throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader(
+            "name,description\r\n\"Cabo, USB\",\"Diz \"\"oi\"\"\r\nem duas linhas\"\r\n\r\nMouse,\n"));
+
+        assertEquals(List.of("name", "description"), reader.next());
+        assertEquals(1, reader.getRecordLine());
+
+        assertEquals(List.of("Cabo, USB", "Diz \"oi\"\r\nem duas linhas"), reader.next());
+        assertEquals(2, reader.getRecordLine());
+
+        // A linha em branco é ignorada e a contagem continua depois do campo multilinha
+        assertEquals(List.of("Mouse", ""), reader.next());
+        assertEquals(5, reader.getRecordLine());
+
+        assertNull(reader.next());
+    }
+
+    @Test
+    void next_WithoutTrailingLineBreak_ShouldReturnLastRecord() throws IOException {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("a,\"b\""));
+
+        assertEquals(List.of("a", "b"), reader.next());
+        assertNull(reader.next());
+    }
+
+    @Test
+    void next_WithUnterminatedQuote_ShouldFail() {
+        CsvRecordReader reader = new CsvRecordReader(new StringReader("\"aberto,sem fim\n"));
+
+        assertThrows(CsvRecordReader.MalformedCsvException.class, reader::next);
+    }
+}
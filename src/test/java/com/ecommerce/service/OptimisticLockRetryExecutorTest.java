@@ -0,0 +1,75 @@
+package com.ecommerce.service;
+
+import com.ecommerce.config.OptimisticLockRetryConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OptimisticLockRetryExecutorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private OptimisticLockRetryExecutor retryExecutor;
+
+    @BeforeEach
+    void setUp() {
+        OptimisticLockRetryConfig config = new OptimisticLockRetryConfig();
+        config.setMaxAttempts(3);
+        config.setInitialBackoffMs(1);
+        config.setMaxBackoffMs(2);
+
+        meterRegistry = new SimpleMeterRegistry();
+        retryExecutor = new OptimisticLockRetryExecutor(config, meterRegistry);
+    }
+
+    @Test
+    void execute_WhenConflictIsTransient_ShouldRetryAndSucceed() {
+        // Arrange
+        AtomicInteger attempts = new AtomicInteger();
+
+        // Act
+        String result = retryExecutor.execute("payOrder", () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new ObjectOptimisticLockingFailureException("Product", "id");
+            }
+            return "ok";
+        });
+
+        // Assert
+        assertEquals("ok", result);
+        assertEquals(3, attempts.get());
+        assertEquals(2.0, meterRegistry.counter("ecommerce.optimistic_lock.conflicts", "operation", "payOrder").count());
+        assertEquals(2.0, meterRegistry.counter("ecommerce.optimistic_lock.retries", "operation", "payOrder").count());
+    }
+
+    @Test
+    void execute_WhenAttemptsAreExhausted_ShouldRethrow() {
+        // Arrange
+        AtomicInteger attempts = new AtomicInteger();
+
+        // Act & Assert
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> retryExecutor.execute("payOrder", () -> {
+            attempts.incrementAndGet();
+            throw new ObjectOptimisticLockingFailureException("Product", "id");
+        }));
+        assertEquals(3, attempts.get());
+        assertEquals(1.0, meterRegistry.counter("ecommerce.optimistic_lock.exhausted", "operation", "payOrder").count());
+    }
+
+    @Test
+    void execute_WhenOtherExceptionIsThrown_ShouldNotRetry() {
+        // Arrange
+        AtomicInteger attempts = new AtomicInteger();
+
+        // Act & Assert
+        assertThrows(RuntimeException.class, () -> retryExecutor.execute("payOrder", () -> {
+            attempts.incrementAndGet();
+            throw new RuntimeException("Order is not pending");
+        }));
+        assertEquals(1, attempts.get());
+    }
+}
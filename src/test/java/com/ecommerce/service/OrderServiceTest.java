@@ -1,22 +1,30 @@
 package com.ecommerce.service;
 
+import com.ecommerce.cache.ProductCache;
+import com.ecommerce.dto.common.CursorPageDTO;
+import com.ecommerce.dto.order.OrderItemView;
 import com.ecommerce.dto.order.OrderRequestDTO;
 import com.ecommerce.dto.order.OrderResponseDTO;
+import com.ecommerce.dto.order.OrderSummaryView;
 import com.ecommerce.entity.Order;
 import com.ecommerce.entity.OrderItem;
 import com.ecommerce.entity.Product;
 import com.ecommerce.entity.User;
 import com.ecommerce.enums.OrderStatus;
 import com.ecommerce.enums.UserRole;
+import com.ecommerce.exception.InsufficientStockException;
 import com.ecommerce.repository.OrderRepository;
 import com.ecommerce.repository.ProductRepository;
+import com.ecommerce.repository.ReportAggregateRepository;
 import com.ecommerce.repository.UserRepository;
+import com.ecommerce.security.UserPrincipal;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -26,7 +34,10 @@ import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -46,6 +57,15 @@ class OrderServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ProductCache productCache;
+
+    @Mock
+    private OrderMetrics orderMetrics;
+
+    @Mock
+    private ReportAggregateRepository reportAggregateRepository;
+
     @Mock
     private SecurityContext securityContext;
 
@@ -87,12 +107,14 @@ class OrderServiceTest {
         order.setUser(user);
         order.setStatus(OrderStatus.PENDING);
         order.setTotalAmount(new BigDecimal("99.99"));
+        order.setCreatedAt(LocalDateTime.of(2024, 7, 15, 10, 0));
         
         // Criar OrderItem para o pedido
         OrderItem orderItem = new OrderItem();
         orderItem.setId(UUID.randomUUID());
         orderItem.setOrder(order);
         orderItem.setProduct(product);
+        orderItem.setProductName(product.getName());
         orderItem.setQuantity(1);
         orderItem.setUnitPrice(product.getPrice());
         orderItem.setTotalPrice(product.getPrice());
@@ -106,8 +128,8 @@ class OrderServiceTest {
         orderRequestDTO.setItems(List.of(itemRequest));
 
         // Setup SecurityContext
-        when(securityContext.getAuthentication()).thenReturn(authentication);
-        when(authentication.getName()).thenReturn("test@example.com");
+        lenient().when(securityContext.getAuthentication()).thenReturn(authentication);
+        lenient().when(authentication.getName()).thenReturn("test@example.com");
         SecurityContextHolder.setContext(securityContext);
     }
 
@@ -129,6 +151,7 @@ class OrderServiceTest {
         verify(userRepository).findByEmail("test@example.com");
         verify(productRepository).findByIdIn(List.of(productId));
         verify(orderRepository).save(any(Order.class));
+        verify(orderMetrics).orderCreated();
     }
 
     @Test
@@ -174,9 +197,9 @@ class OrderServiceTest {
     void payOrder_ShouldPayOrderSuccessfully() {
         // Arrange
         when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
-        when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
+        when(orderRepository.findWithItemsById(orderId)).thenReturn(Optional.of(order));
         when(orderRepository.save(any(Order.class))).thenReturn(order);
-        when(productRepository.save(any(Product.class))).thenReturn(product);
+        when(productRepository.decrementStock(Map.of(productId, 1))).thenReturn(List.of());
 
         // Act
         OrderResponseDTO result = orderService.payOrder(orderId);
@@ -185,21 +208,44 @@ class OrderServiceTest {
         assertNotNull(result);
         assertEquals(OrderStatus.PAID, result.getStatus());
         verify(userRepository).findByEmail("test@example.com");
-        verify(orderRepository).findById(orderId);
+        verify(orderRepository).findWithItemsById(orderId);
         verify(orderRepository).save(any(Order.class));
-        verify(productRepository).save(any(Product.class));
+        verify(productRepository).decrementStock(Map.of(productId, 1));
+        verify(productRepository, never()).save(any(Product.class));
+        verify(productCache).stockDecremented(Map.of(productId, 1));
+        verify(orderMetrics).orderPaid();
+        verify(reportAggregateRepository).recordPaidOrder(user.getId(), YearMonth.of(2024, 7), new BigDecimal("99.99"));
+    }
+
+    @Test
+    void payOrder_WhenStockIsInsufficient_ShouldCancelOrder() {
+        // Arrange
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+        when(orderRepository.findWithItemsById(orderId)).thenReturn(Optional.of(order));
+        when(productRepository.decrementStock(Map.of(productId, 1))).thenReturn(List.of(productId));
+
+        // Act & Assert
+        InsufficientStockException exception = assertThrows(InsufficientStockException.class, () -> orderService.payOrder(orderId));
+        assertTrue(exception.getMessage().contains("Test Product"));
+        assertEquals(OrderStatus.CANCELLED, order.getStatus());
+        verify(orderRepository).save(order);
+        verify(orderMetrics).orderCancelledByStock();
+        verify(productRepository, never()).save(any(Product.class));
+        verify(productCache, never()).stockDecremented(any());
+        verify(orderMetrics, never()).orderPaid();
+        verify(reportAggregateRepository, never()).recordPaidOrder(any(), any(), any());
     }
 
     @Test
     void payOrder_WhenOrderNotFound_ShouldThrowException() {
         // Arrange
         when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
-        when(orderRepository.findById(orderId)).thenReturn(Optional.empty());
+        when(orderRepository.findWithItemsById(orderId)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(RuntimeException.class, () -> orderService.payOrder(orderId));
         verify(userRepository).findByEmail("test@example.com");
-        verify(orderRepository).findById(orderId);
+        verify(orderRepository).findWithItemsById(orderId);
         verify(orderRepository, never()).save(any());
     }
 
@@ -211,12 +257,12 @@ class OrderServiceTest {
         order.setUser(otherUser);
 
         when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
-        when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
+        when(orderRepository.findWithItemsById(orderId)).thenReturn(Optional.of(order));
 
         // Act & Assert
         assertThrows(RuntimeException.class, () -> orderService.payOrder(orderId));
         verify(userRepository).findByEmail("test@example.com");
-        verify(orderRepository).findById(orderId);
+        verify(orderRepository).findWithItemsById(orderId);
         verify(orderRepository, never()).save(any());
     }
 
@@ -225,12 +271,12 @@ class OrderServiceTest {
         // Arrange
         order.setStatus(OrderStatus.PAID);
         when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
-        when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
+        when(orderRepository.findWithItemsById(orderId)).thenReturn(Optional.of(order));
 
         // Act & Assert
         assertThrows(RuntimeException.class, () -> orderService.payOrder(orderId));
         verify(userRepository).findByEmail("test@example.com");
-        verify(orderRepository).findById(orderId);
+        verify(orderRepository).findWithItemsById(orderId);
         verify(orderRepository, never()).save(any());
     }
 
@@ -238,7 +284,7 @@ class OrderServiceTest {
     void getOrder_ShouldReturnOrder() {
         // Arrange
         when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
-        when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
+        when(orderRepository.findWithItemsById(orderId)).thenReturn(Optional.of(order));
 
         // Act
         OrderResponseDTO result = orderService.getOrder(orderId);
@@ -247,7 +293,22 @@ class OrderServiceTest {
         assertNotNull(result);
         assertEquals(orderId, result.getId());
         verify(userRepository).findByEmail("test@example.com");
-        verify(orderRepository).findById(orderId);
+        verify(orderRepository).findWithItemsById(orderId);
+    }
+
+    @Test
+    void getOrder_AfterProductRename_ShouldKeepNameFromPurchase() {
+        // Arrange
+        product.setName("Renamed Product");
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+        when(orderRepository.findWithItemsById(orderId)).thenReturn(Optional.of(order));
+
+        // Act
+        OrderResponseDTO result = orderService.getOrder(orderId);
+
+        // Assert
+        assertEquals("Test Product", result.getItems().get(0).getProductName());
+        assertEquals(productId, result.getItems().get(0).getProductId());
     }
 
     @Test
@@ -258,22 +319,25 @@ class OrderServiceTest {
         order.setUser(otherUser);
 
         when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
-        when(orderRepository.findById(orderId)).thenReturn(Optional.of(order));
+        when(orderRepository.findWithItemsById(orderId)).thenReturn(Optional.of(order));
 
         // Act & Assert
         assertThrows(RuntimeException.class, () -> orderService.getOrder(orderId));
         verify(userRepository).findByEmail("test@example.com");
-        verify(orderRepository).findById(orderId);
+        verify(orderRepository).findWithItemsById(orderId);
     }
 
     @Test
     void getUserOrders_ShouldReturnUserOrders() {
         // Arrange
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Order> orderPage = new PageImpl<>(List.of(order));
+        OrderSummaryView summary = new OrderSummaryView(orderId, OrderStatus.PENDING, new BigDecimal("99.99"), null, null);
+        OrderItemView itemView = new OrderItemView(orderId, UUID.randomUUID(), productId, "Test Product",
+            1, new BigDecimal("99.99"), new BigDecimal("99.99"));
         
         when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
-        when(orderRepository.findByUserId(userId, pageable)).thenReturn(orderPage);
+        when(orderRepository.findSummariesByUserId(userId, pageable)).thenReturn(new PageImpl<>(List.of(summary), pageable, 1));
+        when(orderRepository.findItemViewsByOrderIdIn(List.of(orderId))).thenReturn(List.of(itemView));
 
         // Act
         Page<OrderResponseDTO> result = orderService.getUserOrders(pageable);
@@ -281,7 +345,71 @@ class OrderServiceTest {
         // Assert
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
+        assertEquals(orderId, result.getContent().get(0).getId());
+        assertEquals("Test Product", result.getContent().get(0).getItems().get(0).getProductName());
         verify(userRepository).findByEmail("test@example.com");
-        verify(orderRepository).findByUserId(userId, pageable);
+        verify(orderRepository).findSummariesByUserId(userId, pageable);
+        verify(orderRepository).findItemViewsByOrderIdIn(List.of(orderId));
+    }
+
+    @Test
+    void getUserOrdersAfter_ShouldReturnNextCursorWhenMoreOrdersExist() {
+        // Arrange
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 10, 12, 0);
+        OrderSummaryView first = new OrderSummaryView(orderId, OrderStatus.PAID, new BigDecimal("99.99"), createdAt, createdAt);
+        OrderSummaryView second = new OrderSummaryView(UUID.randomUUID(), OrderStatus.PAID, new BigDecimal("10.00"),
+            createdAt.minusDays(1), createdAt.minusDays(1));
+        
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+        when(orderRepository.findFirstSummariesByUserId(userId, Limit.of(2))).thenReturn(List.of(first, second));
+        when(orderRepository.findItemViewsByOrderIdIn(List.of(orderId))).thenReturn(List.of());
+
+        // Act
+        CursorPageDTO<OrderResponseDTO> page = orderService.getUserOrdersAfter("", 1, false);
+
+        // Assert
+        assertEquals(1, page.getContent().size());
+        assertTrue(page.isHasNext());
+        assertNull(page.getTotalElements());
+        String[] position = CursorCodec.decode(page.getNextCursor(), 2);
+        assertEquals(createdAt, LocalDateTime.parse(position[0]));
+        assertEquals(orderId, UUID.fromString(position[1]));
+        verify(orderRepository, never()).countByUserId(any());
+    }
+
+    @Test
+    void getUserOrdersAfter_ShouldSeekFromCursor() {
+        // Arrange
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 10, 12, 0);
+        String cursor = CursorCodec.encode(createdAt.toString(), orderId.toString());
+        
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+        when(orderRepository.findSummariesByUserIdAfter(userId, createdAt, orderId, Limit.of(21))).thenReturn(List.of());
+        when(orderRepository.countByUserId(userId)).thenReturn(5L);
+
+        // Act
+        CursorPageDTO<OrderResponseDTO> page = orderService.getUserOrdersAfter(cursor, 20, true);
+
+        // Assert
+        assertTrue(page.getContent().isEmpty());
+        assertFalse(page.isHasNext());
+        assertNull(page.getNextCursor());
+        assertEquals(5L, page.getTotalElements());
+    }
+
+    @Test
+    void getOrder_WhenPrincipalIsCached_ShouldUseReferenceInsteadOfQueryingUser() {
+        // Arrange
+        when(authentication.getPrincipal()).thenReturn(UserPrincipal.from(user));
+        when(userRepository.getReferenceById(userId)).thenReturn(user);
+        when(orderRepository.findWithItemsById(orderId)).thenReturn(Optional.of(order));
+
+        // Act
+        OrderResponseDTO result = orderService.getOrder(orderId);
+
+        // Assert
+        assertEquals(orderId, result.getId());
+        verify(userRepository).getReferenceById(userId);
+        verify(userRepository, never()).findByEmail(any());
     }
-} 
\ No newline at end of file
+}
@@ -1,16 +1,20 @@
 package com.ecommerce.service;
 
+import com.ecommerce.cache.ProductCache;
+import com.ecommerce.dto.common.CursorPageDTO;
 import com.ecommerce.dto.product.ProductRequestDTO;
 import com.ecommerce.dto.product.ProductResponseDTO;
 import com.ecommerce.dto.product.ProductUpdateDTO;
 import com.ecommerce.entity.Product;
 import com.ecommerce.repository.ProductRepository;
+import com.ecommerce.search.ProductSearchEngine;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -32,6 +36,12 @@ class ProductServiceTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private ProductSearchEngine searchEngine;
+
+    @Mock
+    private ProductCache productCache;
+
     @InjectMocks
     private ProductService productService;
 
@@ -89,6 +99,7 @@ class ProductServiceTest {
         assertEquals(productRequestDTO.getCategory(), result.getCategory());
         assertEquals(productRequestDTO.getStockQuantity(), result.getStockQuantity());
         verify(productRepository).save(any(Product.class));
+        verify(searchEngine).index(savedProduct);
     }
 
     @Test
@@ -174,6 +185,8 @@ class ProductServiceTest {
         // Assert
         verify(productRepository).existsById(productId);
         verify(productRepository).deleteById(productId);
+        verify(searchEngine).remove(productId);
+        verify(productCache).productDeleted(productId);
     }
 
     @Test
@@ -192,8 +205,8 @@ class ProductServiceTest {
         // Arrange
         String searchTerm = "test";
         Pageable pageable = PageRequest.of(0, 10);
-        Page<Product> productPage = new PageImpl<>(List.of(product));
-        when(productRepository.findByNameContainingIgnoreCase(searchTerm, pageable)).thenReturn(productPage);
+        when(searchEngine.search(searchTerm, pageable)).thenReturn(new PageImpl<>(List.of(productId), pageable, 1));
+        when(productRepository.findByIdIn(List.of(productId))).thenReturn(List.of(product));
 
         // Act
         Page<ProductResponseDTO> result = productService.searchProducts(searchTerm, pageable);
@@ -201,7 +214,8 @@ class ProductServiceTest {
         // Assert
         assertNotNull(result);
         assertEquals(1, result.getTotalElements());
-        verify(productRepository).findByNameContainingIgnoreCase(searchTerm, pageable);
+        assertEquals(productId, result.getContent().get(0).getId());
+        verify(searchEngine).search(searchTerm, pageable);
     }
 
     @Test
@@ -236,4 +250,34 @@ class ProductServiceTest {
         assertTrue(result.containsAll(categories));
         verify(productRepository).findAllCategories();
     }
-} 
\ No newline at end of file
+
+    @Test
+    void getProductsAfter_ShouldSeekFromCursorAndReturnNextCursor() {
+        // Arrange
+        Product next = new Product();
+        next.setId(UUID.randomUUID());
+        next.setName("Next Product");
+        next.setPrice(new BigDecimal("10.00"));
+        next.setCategory("Electronics");
+        next.setStockQuantity(1);
+        UUID after = UUID.randomUUID();
+        when(productRepository.findAfterOrderById(after, Limit.of(2))).thenReturn(List.of(product, next));
+
+        // Act
+        CursorPageDTO<ProductResponseDTO> page = productService.getProductsAfter(CursorCodec.encode(after.toString()), 1, false);
+
+        // Assert
+        assertEquals(1, page.getContent().size());
+        assertEquals(productId, page.getContent().get(0).getId());
+        assertTrue(page.isHasNext());
+        assertEquals(productId.toString(), CursorCodec.decode(page.getNextCursor(), 1)[0]);
+        verify(productRepository, never()).count();
+    }
+
+    @Test
+    void getProductsAfter_WhenCursorIsInvalid_ShouldThrowException() {
+        // Act & Assert
+        assertThrows(RuntimeException.class, () -> productService.getProductsAfter("not a cursor!", 10, false));
+        verify(productRepository, never()).findAfterOrderById(any(), any());
+    }
+}
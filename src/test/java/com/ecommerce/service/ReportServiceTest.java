@@ -1,21 +1,35 @@
 package com.ecommerce.service;
 
+import com.ecommerce.config.ReportConfig;
 import com.ecommerce.dto.report.MonthlyRevenueDTO;
 import com.ecommerce.dto.report.TopUserDTO;
 import com.ecommerce.dto.report.UserAverageTicketDTO;
 import com.ecommerce.repository.OrderRepository;
+import com.ecommerce.repository.ReportAggregateRepository;
 import com.ecommerce.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Collections;
 import java.util.List;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,9 +41,21 @@ class ReportServiceTest {
     @Mock
     private OrderRepository orderRepository;
 
+    @Mock
+    private ReportAggregateRepository reportAggregateRepository;
+
+    @Spy
+    private ReportConfig reportConfig = new ReportConfig();
+
     @InjectMocks
     private ReportService reportService;
 
+    @BeforeEach
+    void setUp() {
+        // Por padrão os testes cobrem as consultas sobre orders (fallback); os de agregados ativam a flag
+        reportConfig.setUseAggregates(false);
+    }
+
     @Test
     void getTop5UsersByPurchases_ShouldNotThrowException() {
         // Arrange
@@ -47,22 +73,48 @@ class ReportServiceTest {
     @Test
     void getUserAverageTickets_ShouldNotThrowException() {
         // Arrange
-        when(orderRepository.findAverageTicketByUser()).thenReturn(List.of());
+        when(orderRepository.findAverageTicketsByUser(eq(1L), any())).thenReturn(Page.empty());
 
         // Act & Assert
         assertDoesNotThrow(() -> {
-            List<UserAverageTicketDTO> result = reportService.getUserAverageTickets();
+            Page<UserAverageTicketDTO> result = reportService.getUserAverageTickets(1, null, PageRequest.of(0, 20));
             assertNotNull(result);
         });
         
-        verify(orderRepository).findAverageTicketByUser();
+        verify(orderRepository).findAverageTicketsByUser(eq(1L), any());
+    }
+
+    @Test
+    void getUserAverageTickets_WithTop_ShouldTruncateLastPage() {
+        // Arrange
+        List<UserAverageTicketDTO> rows = List.of(
+            new UserAverageTicketDTO("a@example.com", "A", new BigDecimal("300.00")),
+            new UserAverageTicketDTO("b@example.com", "B", new BigDecimal("200.00")),
+            new UserAverageTicketDTO("c@example.com", "C", new BigDecimal("100.00")));
+        when(orderRepository.findAverageTicketsByUser(eq(2L), any()))
+            .thenReturn(new PageImpl<>(rows, PageRequest.of(1, 3), 50));
+
+        // Act: top 4 em páginas de 3, segunda página
+        Page<UserAverageTicketDTO> result = reportService.getUserAverageTickets(2, 4, PageRequest.of(1, 3));
+
+        // Assert
+        assertEquals(1, result.getNumberOfElements());
+        assertEquals("a@example.com", result.getContent().get(0).getEmail());
+        assertEquals(4, result.getTotalElements());
+    }
+
+    @Test
+    void getUserAverageTickets_WithInvalidFilters_ShouldThrowException() {
+        // Act & Assert
+        assertThrows(RuntimeException.class, () -> reportService.getUserAverageTickets(0, null, PageRequest.of(0, 20)));
+        assertThrows(RuntimeException.class, () -> reportService.getUserAverageTickets(1, 0, PageRequest.of(0, 20)));
+        verifyNoInteractions(orderRepository);
     }
 
     @Test
     void getMonthlyRevenue_ShouldNotThrowException() {
         // Arrange
-        when(orderRepository.findTotalRevenueByPeriod(any(), any())).thenReturn(BigDecimal.ZERO);
-        when(orderRepository.countPaidOrdersByPeriod(any(), any())).thenReturn(0L);
+        when(orderRepository.findMonthlyRevenueBetween(any(), any())).thenReturn(List.of());
 
         // Act & Assert
         assertDoesNotThrow(() -> {
@@ -72,15 +124,26 @@ class ReportServiceTest {
             assertEquals(7, result.getMonth());
         });
         
-        verify(orderRepository).findTotalRevenueByPeriod(any(), any());
-        verify(orderRepository).countPaidOrdersByPeriod(any(), any());
+        verify(orderRepository).findMonthlyRevenueBetween(any(), any());
+    }
+
+    @Test
+    void getMonthlyRevenue_ShouldQueryHalfOpenMonthRange() {
+        // Arrange
+        when(orderRepository.findMonthlyRevenueBetween(any(), any())).thenReturn(List.of());
+
+        // Act
+        reportService.getMonthlyRevenue(2024, 12);
+
+        // Assert: fim exclusivo no primeiro instante do mês seguinte
+        verify(orderRepository).findMonthlyRevenueBetween(
+            LocalDateTime.of(2024, 12, 1, 0, 0), LocalDateTime.of(2025, 1, 1, 0, 0));
     }
 
     @Test
-    void getMonthlyRevenue_WithNullValues_ShouldHandleGracefully() {
+    void getMonthlyRevenue_WithNoPaidOrders_ShouldReturnZero() {
         // Arrange
-        when(orderRepository.findTotalRevenueByPeriod(any(), any())).thenReturn(null);
-        when(orderRepository.countPaidOrdersByPeriod(any(), any())).thenReturn(null);
+        when(orderRepository.findMonthlyRevenueBetween(any(), any())).thenReturn(List.of());
 
         // Act & Assert
         assertDoesNotThrow(() -> {
@@ -94,8 +157,8 @@ class ReportServiceTest {
     @Test
     void getMonthlyRevenue_WithValidData_ShouldNotThrowException() {
         // Arrange
-        when(orderRepository.findTotalRevenueByPeriod(any(), any())).thenReturn(BigDecimal.valueOf(1000.00));
-        when(orderRepository.countPaidOrdersByPeriod(any(), any())).thenReturn(10L);
+        when(orderRepository.findMonthlyRevenueBetween(any(), any()))
+            .thenReturn(List.of(new MonthlyRevenueDTO(2024, 12, BigDecimal.valueOf(1000.00), 10L)));
 
         // Act & Assert
         assertDoesNotThrow(() -> {
@@ -107,4 +170,99 @@ class ReportServiceTest {
             assertEquals(10L, result.getOrderCount());
         });
     }
-} 
\ No newline at end of file
+
+    @Test
+    void getRevenueSeries_ShouldFillMonthsWithoutOrders() {
+        // Arrange
+        when(orderRepository.findMonthlyRevenueBetween(any(), any())).thenReturn(List.of(
+            new MonthlyRevenueDTO(2024, 11, new BigDecimal("200.00"), 2L),
+            new MonthlyRevenueDTO(2025, 1, new BigDecimal("50.00"), 1L)));
+
+        // Act
+        List<MonthlyRevenueDTO> result = reportService.getRevenueSeries(YearMonth.of(2024, 11), YearMonth.of(2025, 2));
+
+        // Assert
+        assertEquals(List.of(11, 12, 1, 2), result.stream().map(MonthlyRevenueDTO::getMonth).toList());
+        assertEquals(new BigDecimal("200.00"), result.get(0).getTotalRevenue());
+        assertEquals(0L, result.get(1).getOrderCount());
+        assertEquals(new BigDecimal("50.00"), result.get(2).getTotalRevenue());
+        assertEquals(BigDecimal.ZERO, result.get(3).getTotalRevenue());
+        verify(orderRepository, times(1)).findMonthlyRevenueBetween(
+            LocalDateTime.of(2024, 11, 1, 0, 0), LocalDateTime.of(2025, 3, 1, 0, 0));
+    }
+
+    @Test
+    void getRevenueSeries_WithInvalidPeriod_ShouldThrowException() {
+        // Act & Assert
+        assertThrows(RuntimeException.class,
+            () -> reportService.getRevenueSeries(YearMonth.of(2024, 5), YearMonth.of(2024, 4)));
+        assertThrows(RuntimeException.class,
+            () -> reportService.getRevenueSeries(YearMonth.of(2020, 1), YearMonth.of(2023, 1)));
+        verifyNoInteractions(orderRepository);
+    }
+
+    @Test
+    void getTop5UsersByPurchases_WithAggregates_ShouldReadRollupTable() {
+        // Arrange
+        reportConfig.setUseAggregates(true);
+        TopUserDTO topUser = new TopUserDTO(UUID.randomUUID(), "top@example.com", "Top User", 3L, new BigDecimal("300.00"));
+        when(reportAggregateRepository.findTopUsers(5)).thenReturn(List.of(topUser));
+
+        // Act
+        List<TopUserDTO> result = reportService.getTop5UsersByPurchases();
+
+        // Assert
+        assertEquals(List.of(topUser), result);
+        verify(userRepository, never()).findTop5UsersByTotalSpent();
+    }
+
+    @Test
+    void getUserAverageTickets_WithAggregates_ShouldPushLimitIntoQuery() {
+        // Arrange
+        reportConfig.setUseAggregates(true);
+        UserAverageTicketDTO ticket = new UserAverageTicketDTO("avg@example.com", "Avg User", new BigDecimal("75.50"));
+        when(reportAggregateRepository.countAverageTickets(3)).thenReturn(40L);
+        List<UserAverageTicketDTO> tickets = Collections.nCopies(5, ticket);
+        when(reportAggregateRepository.findAverageTickets(3, 20, 5)).thenReturn(tickets);
+
+        // Act: top 25 com páginas de 10 -> a terceira página só tem 5 posições
+        Page<UserAverageTicketDTO> result = reportService.getUserAverageTickets(3, 25, PageRequest.of(2, 10));
+
+        // Assert
+        assertEquals(tickets, result.getContent());
+        assertEquals(25, result.getTotalElements());
+        verify(orderRepository, never()).findAverageTicketsByUser(anyLong(), any());
+    }
+
+    @Test
+    void getUserAverageTickets_WithAggregates_BeyondTop_ShouldNotQueryRows() {
+        // Arrange
+        reportConfig.setUseAggregates(true);
+        when(reportAggregateRepository.countAverageTickets(1)).thenReturn(40L);
+
+        // Act
+        Page<UserAverageTicketDTO> result = reportService.getUserAverageTickets(1, 10, PageRequest.of(1, 10));
+
+        // Assert
+        assertTrue(result.getContent().isEmpty());
+        assertEquals(10, result.getTotalElements());
+        verify(reportAggregateRepository, never()).findAverageTickets(anyLong(), anyLong(), anyInt());
+    }
+
+    @Test
+    void getMonthlyRevenue_WithAggregates_ShouldReadRollupTable() {
+        // Arrange
+        reportConfig.setUseAggregates(true);
+        MonthlyRevenueDTO revenue = new MonthlyRevenueDTO(2024, 7, new BigDecimal("1500.00"), 12L);
+        when(reportAggregateRepository.findMonthlyRevenueBetween(YearMonth.of(2024, 7), YearMonth.of(2024, 7)))
+            .thenReturn(List.of(revenue));
+
+        // Act
+        MonthlyRevenueDTO result = reportService.getMonthlyRevenue(2024, 7);
+
+        // Assert
+        assertEquals(new BigDecimal("1500.00"), result.getTotalRevenue());
+        assertEquals(12L, result.getOrderCount());
+        verify(orderRepository, never()).findMonthlyRevenueBetween(any(), any());
+    }
+}